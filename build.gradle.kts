@@ -2,19 +2,21 @@
  * This file was generated by the Gradle 'init' task.
  */
 
+import java.io.DataOutputStream
+
 plugins {
     java
     id("io.freefair.lombok") version "8.11"
     application
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 dependencies {
     implementation("com.github.Zabbum:oelrlib:0.1.35")
     implementation("com.googlecode.lanterna:lanterna:3.2.0-alpha1")
-    implementation("org.springframework.boot:spring-boot-starter-integration:3.4.0")
-    implementation("org.springframework.boot:spring-boot-starter-websocket:3.4.0")
-    implementation("org.springframework.integration:spring-integration-stomp:6.4.0")
-    implementation("org.springframework.integration:spring-integration-websocket:6.4.0")
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.18.1")
+    implementation("org.slf4j:slf4j-api:2.0.16")
+    runtimeOnly("ch.qos.logback:logback-classic:1.5.12")
     testImplementation("org.springframework.boot:spring-boot-starter-test:3.4.0")
     testImplementation("org.springframework.integration:spring-integration-test:6.4.0")
 }
@@ -22,12 +24,162 @@ dependencies {
 group = "com.github.Zabbum"
 version = "0.0.1-SNAPSHOT"
 description = "oel-remake-client"
-java.sourceCompatibility = JavaVersion.VERSION_17
+java.sourceCompatibility = JavaVersion.VERSION_21
 
 application {
     mainClass = "com.github.zabbum.oelremakeclient.Application"
 }
 
+// Compile ASCII arts into the binary format read by ArtObject:
+// magic "OELA", version, color palette, width, height, default colors
+// and then run-length encoded rows of (count, char, foreground, background)
+val compileArts by tasks.registering {
+    val artsDir = layout.projectDirectory.dir("src/main/resources/arts")
+    val outputDir = layout.buildDirectory.dir("generated/resources/arts")
+    inputs.dir(artsDir)
+    outputs.dir(outputDir)
+
+    doLast {
+        val targetDir = outputDir.get().dir("arts").asFile
+        targetDir.mkdirs()
+
+        artsDir.asFileTree.matching { include("*.json") }.forEach { jsonFile ->
+            @Suppress("UNCHECKED_CAST")
+            val art = groovy.json.JsonSlurper().parse(jsonFile, "UTF-8") as Map<String, Any?>
+            val width = (art["width"] as Number).toInt()
+            val height = (art["height"] as Number).toInt()
+            val defaultForegroundColor = art["defaultForegroundColor"] as String
+            val defaultBackgroundColor = art["defaultBackgroundColor"] as String
+            @Suppress("UNCHECKED_CAST")
+            val rows = art["rows"] as List<List<Map<String, Any?>>>
+
+            // Colors are stored once, cells refer to them by index
+            val palette = mutableListOf<String>()
+            fun colorIndex(color: String): Int {
+                if (!palette.contains(color)) palette.add(color)
+                return palette.indexOf(color)
+            }
+            colorIndex(defaultForegroundColor)
+            colorIndex(defaultBackgroundColor)
+
+            if (rows.size > height) {
+                throw GradleException("${jsonFile.name}: more rows than height $height")
+            }
+
+            val encodedRows = rows.map { row ->
+                val cells = mutableListOf<Triple<Char, Int, Int>>()
+                row.forEach { series ->
+                    // Same check as for JSON arts, series can't start outside of the image
+                    if (cells.size >= width) {
+                        throw GradleException("${jsonFile.name}: row wider than width $width")
+                    }
+
+                    val foreground = colorIndex((series["fColor"] ?: defaultForegroundColor) as String)
+                    val background = colorIndex((series["bColor"] ?: defaultBackgroundColor) as String)
+                    (series["content"] as String).forEach { cells.add(Triple(it, foreground, background)) }
+                }
+
+                // Join neighbouring identical cells into runs, cells outside of the image are skipped
+                val runs = mutableListOf<Pair<Int, Triple<Char, Int, Int>>>()
+                cells.take(width).forEach { cell ->
+                    if (runs.isNotEmpty() && runs.last().second == cell) {
+                        runs[runs.size - 1] = Pair(runs.last().first + 1, cell)
+                    } else {
+                        runs.add(Pair(1, cell))
+                    }
+                }
+                runs
+            }
+
+            val artFile = targetDir.resolve(jsonFile.nameWithoutExtension + ".art")
+            DataOutputStream(artFile.outputStream().buffered()).use { output ->
+                output.writeBytes("OELA")
+                output.writeByte(1)
+                output.writeByte(palette.size)
+                palette.forEach { output.writeUTF(it) }
+                output.writeShort(width)
+                output.writeShort(height)
+                output.writeByte(colorIndex(defaultForegroundColor))
+                output.writeByte(colorIndex(defaultBackgroundColor))
+
+                for (rowIndex in 0 until height) {
+                    val runs = encodedRows.getOrElse(rowIndex) { emptyList() }
+                    output.writeShort(runs.size)
+                    runs.forEach { (count, cell) ->
+                        output.writeShort(count)
+                        output.writeChar(cell.first.code)
+                        output.writeByte(cell.second)
+                        output.writeByte(cell.third)
+                    }
+                }
+            }
+        }
+    }
+}
+
+// Generate LangKey enum with a constant for every key of the reference language
+val generateLangKeys by tasks.registering {
+    val referenceLang = layout.projectDirectory.file("src/main/resources/lang/pl-PL.json")
+    val outputDir = layout.buildDirectory.dir("generated/sources/langKeys/java/main")
+    inputs.file(referenceLang)
+    outputs.dir(outputDir)
+
+    doLast {
+        @Suppress("UNCHECKED_CAST")
+        val keys = (groovy.json.JsonSlurper().parse(referenceLang.asFile, "UTF-8") as Map<String, Any?>).keys
+        val constants = keys.joinToString(",\n") { key ->
+            "    " + key.replace(Regex("([a-z0-9])([A-Z])"), "$1_$2").uppercase() + "(\"" + key + "\")"
+        }
+
+        val enumFile = outputDir.get().file("com/github/zabbum/oelremakeclient/LangKey.java").asFile
+        enumFile.parentFile.mkdirs()
+        enumFile.writeText(
+            """
+            |package com.github.zabbum.oelremakeclient;
+            |
+            |// Generated by generateLangKeys task from lang/pl-PL.json
+            |public enum LangKey {
+            |$constants;
+            |
+            |    private final String key;
+            |
+            |    LangKey(String key) {
+            |        this.key = key;
+            |    }
+            |
+            |    public String getKey() {
+            |        return key;
+            |    }
+            |}
+            |""".trimMargin(), Charsets.UTF_8
+        )
+    }
+}
+
+sourceSets.main {
+    resources.srcDir(compileArts)
+    java.srcDir(generateLangKeys)
+}
+
+tasks.processResources {
+    // Only compiled arts are shipped
+    exclude("arts/*.json")
+}
+
+// Benchmarks of the hot paths, run with ./gradlew jmh
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+}
+
+tasks.named<ProcessResources>("processJmhResources") {
+    // JSON arts are benchmarked against the compiled ones
+    from("src/main/resources/arts") { into("arts") }
+}
+
 tasks.withType<JavaCompile>() {
     options.encoding = "UTF-8"
     options.compilerArgs.add("-Xlint:deprecation")
@@ -47,6 +199,12 @@ tasks.withType<Jar>() {
 }
 
 
+tasks.named<Jar>("jmhJar") {
+    manifest {
+        attributes["Main-Class"] = "org.openjdk.jmh.Main"
+    }
+}
+
 tasks.withType<Javadoc>() {
     options.encoding = "UTF-8"
 }
@@ -0,0 +1,46 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialization of a game in progress, as received from the server, and indexing it for the screens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BaseGameBenchmark {
+
+    // Same settings as the message converters of the client
+    private final ObjectReader reader = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(BaseGame.class);
+
+    private byte[] payload;
+    private BaseGame baseGame;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("fixtures/base-game.json")) {
+            payload = inputStream.readAllBytes();
+        }
+        baseGame = reader.readValue(payload);
+    }
+
+    @Benchmark
+    public BaseGame deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    @Benchmark
+    public GameView gameView() {
+        return GameView.of(baseGame);
+    }
+}
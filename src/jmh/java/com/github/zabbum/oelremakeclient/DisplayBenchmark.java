@@ -0,0 +1,162 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.zabbum.oelremakeclient.arguments.Arguments;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.googlecode.lanterna.TerminalSize;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.gui2.Interactable;
+import com.googlecode.lanterna.gui2.Window;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import com.googlecode.lanterna.screen.Screen;
+import com.googlecode.lanterna.screen.TerminalScreen;
+import com.googlecode.lanterna.terminal.virtual.DefaultVirtualTerminal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Building every screen of the game on a virtual terminal.
+ * Screens waiting for the player are confirmed with the Enter key,
+ * which leaves them right away (e.g. by selecting "0" in the tables).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DisplayBenchmark {
+    private static final int PLAYER_ID = 1;
+    // Oilfields of the player, see fixtures/base-game.json
+    private static final int DRILLING_OILFIELD = 1;
+    private static final int EXPLOITABLE_OILFIELD = 5;
+    // Focus is checked this often, the feeder sleeps in between not to take a core from the rendering
+    private static final long FEED_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private DefaultVirtualTerminal terminal;
+    private Screen screen;
+    private Game game;
+    private Game.Display display;
+    private BaseGame baseGame;
+    private BaseGame nextTurnGame;
+    private boolean nextTurn;
+    private Thread keyFeeder;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectNode fixture;
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("fixtures/base-game.json")) {
+            fixture = (ObjectNode) objectMapper.readTree(inputStream);
+        }
+        baseGame = objectMapper.treeToValue(fixture, BaseGame.class);
+        nextTurnGame = objectMapper.treeToValue(fixture.deepCopy().put("currentPlayerTurn", 2), BaseGame.class);
+
+        terminal = new DefaultVirtualTerminal(new TerminalSize(60, 34));
+        screen = new TerminalScreen(terminal);
+        screen.startScreen();
+
+        game = new Game(Arguments.builder().devMode(true).build(), screen);
+        game.setBaseGame(baseGame);
+        game.setPlayerId(PLAYER_ID);
+        display = game.getDisplay();
+
+        keyFeeder = new Thread(this::feedKeys, "key-feeder");
+        keyFeeder.setDaemon(true);
+        keyFeeder.start();
+
+        // Stopping the GUI interrupts the main thread, it shouldn't be the benchmark one
+        game.getGameProperties().setMainThread(keyFeeder);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        keyFeeder.interrupt();
+        game.getGameProperties().getTextGUIThread().stop();
+        screen.stopScreen();
+    }
+
+    // Press Enter once on every component that takes focus
+    private void feedKeys() {
+        Window window = game.getGameProperties().getWindow();
+        Interactable lastPressed = null;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            Interactable focused = window.getFocusedInteractable();
+            if (focused != null && focused != lastPressed) {
+                lastPressed = focused;
+                terminal.addInput(new KeyStroke(KeyType.Enter));
+            } else {
+                LockSupport.parkNanos(FEED_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    @Benchmark
+    public Game.MenuResponse mainMenu() throws InterruptedException {
+        return display.mainMenu();
+    }
+
+    @Benchmark
+    public void drillingMenu() throws InterruptedException {
+        display.drillingMenu(baseGame.getOilfields().get(DRILLING_OILFIELD));
+    }
+
+    @Benchmark
+    public Integer oilfieldManagementMenu() throws InterruptedException {
+        return display.oilfieldManagementMenu(baseGame.getOilfields().get(EXPLOITABLE_OILFIELD));
+    }
+
+    @Benchmark
+    public Game.MenuResponse buyOilfieldMenu() throws InterruptedException {
+        return display.buyOilfieldMenu();
+    }
+
+    @Benchmark
+    public Game.MenuResponse buyIndustryMenu() throws InterruptedException {
+        return display.buyIndustryMenu(
+                GameView.IndustryType.DRILLS,
+                TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.BLUE,
+                TextColor.ANSI.BLUE, TextColor.ANSI.WHITE_BRIGHT,
+                TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
+                TextColor.ANSI.BLUE,
+                "DRILLS INDUSTRY SALE", "INDUSTRY PROMPT", "PRICE PROMPT",
+                60000);
+    }
+
+    @Benchmark
+    public Game.MenuResponse buyProductsMenu() throws InterruptedException {
+        return display.buyProductsMenu(
+                GameView.IndustryType.DRILLS,
+                TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.YELLOW,
+                TextColor.ANSI.BLUE, TextColor.ANSI.WHITE_BRIGHT,
+                TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
+                TextColor.ANSI.YELLOW,
+                TextColor.ANSI.BLUE,
+                "HERE YOU CAN BUY", "PRODUCTS AMOUNT PROMPT",
+                10);
+    }
+
+    // Every update changes the current player, so the screen is redrawn
+    @Benchmark
+    public void waitingMenu() {
+        nextTurn = !nextTurn;
+        game.setBaseGame(nextTurn ? nextTurnGame : baseGame);
+        display.waitingMenu();
+    }
+
+    // Same game again, nothing to redraw
+    @Benchmark
+    public void waitingMenuUnchanged() {
+        display.waitingMenu();
+    }
+
+    @Benchmark
+    public void sendingInfo() {
+        display.sendingInfo();
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.zabbum.oelremakeclient;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LangExtractorBenchmark {
+
+    @Param({"pl-PL"})
+    private String lang;
+
+    private byte[] langData;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("lang/" + lang + ".json")) {
+            langData = inputStream.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public LangBundle getLangData() throws IOException {
+        return LangExtractor.getLangData(new ByteArrayInputStream(langData));
+    }
+}
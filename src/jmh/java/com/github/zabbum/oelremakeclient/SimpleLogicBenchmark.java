@@ -0,0 +1,22 @@
+package com.github.zabbum.oelremakeclient;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimpleLogicBenchmark {
+
+    // Valid amount, too high amount and not a number
+    @Param({"7000", "99999", "abc"})
+    private String value;
+
+    private final int[] maxValues = {35000, 21000};
+
+    @Benchmark
+    public boolean isValid() {
+        return SimpleLogic.isValid(value, 0, maxValues);
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.zabbum.oelremakeclient.artloader;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArtObjectBenchmark {
+
+    @Param({"oel", "1986", "drill", "pumpjack", "truck"})
+    private String art;
+
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = readResource("arts/" + art + ".json");
+        binary = readResource("arts/" + art + ".art");
+    }
+
+    @Benchmark
+    public ArtObject fromJson() throws Exception {
+        return new ArtObject(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public ArtObject fromBinary() throws Exception {
+        return ArtObject.fromBinary(new ByteArrayInputStream(binary));
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream inputStream = ArtObjectBenchmark.class.getClassLoader().getResourceAsStream(name)) {
+            if (inputStream == null) {
+                throw new IOException("Resource not found: " + name);
+            }
+            return inputStream.readAllBytes();
+        }
+    }
+}
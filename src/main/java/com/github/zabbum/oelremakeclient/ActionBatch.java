@@ -0,0 +1,75 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.zabbum.oelrlib.requests.BuyIndustryRequest;
+import com.github.zabbum.oelrlib.requests.BuyOilfieldRequest;
+import com.github.zabbum.oelrlib.requests.BuyProductsRequest;
+import com.github.zabbum.oelrlib.requests.OelRequest;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Purchases made by a player in one turn, submitted together with a single response.
+ * Turn ends once, after all of them.
+ */
+@Getter
+public class ActionBatch implements OelRequest {
+    private final String gameId;
+    private final Integer playerId;
+    private final List<Action> actions = new ArrayList<>();
+    // Purchases made by the transport, the first ones of the batch
+    @JsonIgnore
+    private int madeAmount = 0;
+
+    /**
+     * Single purchase, with the path it would be sent to on its own.
+     */
+    public record Action(String path, OelRequest request) {
+    }
+
+    public ActionBatch(String gameId, Integer playerId) {
+        this.gameId = gameId;
+        this.playerId = playerId;
+    }
+
+    public void add(OelRequest oelRequest) {
+        if (!isPurchase(oelRequest)) {
+            throw new IllegalArgumentException("Only purchases can be batched: " + oelRequest);
+        }
+        actions.add(new Action(RequestsCreator.getPath(oelRequest.getClass()), oelRequest));
+    }
+
+    public List<Action> getActions() {
+        return Collections.unmodifiableList(actions);
+    }
+
+    // Called by the transport once the first purchases have been made
+    public void setMade(int madeAmount) {
+        this.madeAmount = madeAmount;
+    }
+
+    // Purchases not made, e.g. if the server accepts only one purchase per turn
+    @JsonIgnore
+    public List<Action> getNotMade() {
+        return getActions().subList(madeAmount, actions.size());
+    }
+
+    @JsonIgnore
+    public int size() {
+        return actions.size();
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return actions.isEmpty();
+    }
+
+    public static boolean isPurchase(OelRequest oelRequest) {
+        return oelRequest instanceof BuyOilfieldRequest
+                || oelRequest instanceof BuyIndustryRequest
+                || oelRequest instanceof BuyProductsRequest;
+    }
+}
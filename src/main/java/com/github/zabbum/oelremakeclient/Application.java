@@ -1,25 +1,76 @@
 package com.github.zabbum.oelremakeclient;
 
+import com.github.zabbum.oelremakeclient.arguments.Arguments;
+import com.github.zabbum.oelremakeclient.arguments.CliArgumentsParser;
+import com.github.zabbum.oelremakeclient.bot.BotStrategies;
+import com.github.zabbum.oelremakeclient.bot.HeadlessGame;
+import com.github.zabbum.oelremakeclient.loadtest.LoadTest;
+import com.github.zabbum.oelremakeclient.metrics.Metrics;
+import com.github.zabbum.oelremakeclient.recording.SessionRecorder;
 import com.googlecode.lanterna.gui2.SeparateTextGUIThread;
 import com.googlecode.lanterna.screen.Screen;
 import lombok.extern.slf4j.Slf4j;
 import java.awt.*;
 import java.io.IOException;
+import java.nio.file.Path;
 
 @Slf4j
 public class Application {
     public static void main(String[] args) {
+        Arguments arguments = CliArgumentsParser.parseArguments(args);
 
+        // Dump metrics however the client is closed
+        if (arguments.getMetricsFile() != null) {
+            Path metricsFile = Path.of(arguments.getMetricsFile());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> Metrics.dump(metricsFile), "metrics-dump"));
+        }
+
+        // Record the session until the client is closed
+        if (arguments.getRecord() != null) {
+            try {
+                SessionRecorder.start(Path.of(arguments.getRecord()));
+                Runtime.getRuntime().addShutdownHook(new Thread(SessionRecorder::stop, "session-recorder-stop"));
+            } catch (IOException e) {
+                log.error("Couldn't start recording the session: {}", e.getMessage(), e);
+            }
+        }
+
+        // Many games of bots, without any terminal
+        if (arguments.getLoadTest()) {
+            runLoadTest(arguments);
+            return;
+        }
+
+        // Bot player, without any terminal
+        if (arguments.getHeadless()) {
+            runHeadless(arguments);
+            return;
+        }
+
+        // Game loop blocks most of the time, so it runs on a virtual thread
+        Thread gameThread = VirtualThreads.start("game", () -> runGame(arguments));
+        try {
+            gameThread.join();
+        }
+        catch (InterruptedException ignored) {
+        }
+    }
+
+    private static void runGame(Arguments arguments) {
         Screen screen = null;
         SeparateTextGUIThread textGUIThread = null;
 
         try {
-            Game game = new Game(args);
+            Game game = new Game(arguments);
 
             screen = game.getScreen();
             textGUIThread = game.getGameProperties().getTextGUIThread();
 
-            game.start();
+            if (arguments.getReplay() != null) {
+                game.replay(Path.of(arguments.getReplay()), arguments.getReplayRealTime());
+            } else {
+                game.start();
+            }
         }
         catch (IOException | FontFormatException e) {
             log.error(e.getMessage(), e);
@@ -38,4 +89,23 @@ public class Application {
             }
         }
     }
+
+    private static void runHeadless(Arguments arguments) {
+        RequestsCreator requestsCreator = new RequestsCreator(
+                arguments.getWsEndpointUrl(), arguments.getHttpEndpointUrl(), arguments);
+
+        try {
+            new HeadlessGame(arguments, requestsCreator, BotStrategies.byName(arguments.getStrategy())).start();
+        }
+        catch (InterruptedException ignored) {
+        }
+    }
+
+    private static void runLoadTest(Arguments arguments) {
+        try {
+            new LoadTest(arguments).start();
+        }
+        catch (InterruptedException ignored) {
+        }
+    }
 }
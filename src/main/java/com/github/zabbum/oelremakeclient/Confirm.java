@@ -1,25 +1,56 @@
 package com.github.zabbum.oelremakeclient;
 
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 
-@Setter
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Confirmation the game thread waits for.
+ * Lock is used instead of the monitor, so a waiting virtual thread doesn't pin its carrier.
+ */
 @NoArgsConstructor
 public class Confirm {
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Condition confirmed = lock.newCondition();
     protected boolean confirmStatus = false;
 
-    public synchronized boolean isConfirmed() {
-        return confirmStatus;
+    public boolean isConfirmed() {
+        lock.lock();
+        try {
+            return confirmStatus;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setConfirmStatus(boolean confirmStatus) {
+        lock.lock();
+        try {
+            this.confirmStatus = confirmStatus;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void confirm() {
-        this.confirmStatus = true;
-        notifyAll();
+    public void confirm() {
+        lock.lock();
+        try {
+            this.confirmStatus = true;
+            confirmed.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void waitForConfirm() throws InterruptedException {
-        while (!isConfirmed()) {
-            wait();
+    public void waitForConfirm() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!confirmStatus) {
+                confirmed.await();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 }
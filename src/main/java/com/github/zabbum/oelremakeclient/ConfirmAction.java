@@ -8,9 +8,14 @@ import lombok.Setter;
 public class ConfirmAction extends Confirm {
     private String action = "";
 
-    public synchronized void confirm(final String action) {
-        this.confirmStatus = true;
-        this.action = action;
-        notifyAll();
+    public void confirm(final String action) {
+        lock.lock();
+        try {
+            this.confirmStatus = true;
+            this.action = action;
+            confirmed.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 }
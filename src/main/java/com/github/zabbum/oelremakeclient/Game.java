@@ -1,8 +1,14 @@
 package com.github.zabbum.oelremakeclient;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.zabbum.oelremakeclient.arguments.Arguments;
-import com.github.zabbum.oelremakeclient.arguments.CliArgumentsParser;
-import com.github.zabbum.oelremakeclient.artloader.ArtObject;
+import com.github.zabbum.oelremakeclient.artloader.ArtCache;
+import com.github.zabbum.oelremakeclient.local.LocalGameEngine;
+import com.github.zabbum.oelremakeclient.metrics.Metrics;
+import com.github.zabbum.oelremakeclient.metrics.Timer;
+import com.github.zabbum.oelremakeclient.recording.SessionLogReader;
+import com.github.zabbum.oelremakeclient.recording.SessionRecord;
 import com.github.zabbum.oelrlib.Player;
 import com.github.zabbum.oelrlib.game.BaseGame;
 import com.github.zabbum.oelrlib.game.GameStatus;
@@ -11,8 +17,6 @@ import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
 import com.github.zabbum.oelrlib.requests.*;
 import com.googlecode.lanterna.TerminalSize;
 import com.googlecode.lanterna.TextColor;
-import com.googlecode.lanterna.graphics.SimpleTheme;
-import com.googlecode.lanterna.graphics.Theme;
 import com.googlecode.lanterna.gui2.Button;
 import com.googlecode.lanterna.gui2.Component;
 import com.googlecode.lanterna.gui2.GridLayout;
@@ -27,21 +31,24 @@ import com.googlecode.lanterna.terminal.DefaultTerminalFactory;
 import com.googlecode.lanterna.terminal.Terminal;
 import com.googlecode.lanterna.terminal.swing.SwingTerminalFontConfiguration;
 import com.googlecode.lanterna.terminal.swing.SwingTerminalFrame;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.converter.MappingJackson2MessageConverter;
-import org.springframework.messaging.simp.stomp.StompSessionHandler;
-import org.springframework.web.socket.client.standard.StandardWebSocketClient;
-import org.springframework.web.socket.messaging.WebSocketStompClient;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -49,6 +56,8 @@ public class Game {
     private static final float FONT_SIZE = 15.0f;
     private static final int TERMINAL_WIDTH = 60;
     private static final int TERMINAL_HEIGHT = 34;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     private final Arguments arguments;
     private final String wsEndpointUrl;
@@ -56,23 +65,55 @@ public class Game {
     @Getter
     private GameProperties gameProperties;
     private Font font;
+    private Terminal terminal;
     @Getter
     private Screen screen;
     private Window window;
     private MultiWindowTextGUI gui;
+    private RenderScheduler renderScheduler;
     private Panel contentPanel;
-    private RequestsCreator requestsCreator;
+    private GameTransport transport;
+    private GameProgress progressSession;
     private BaseGame baseGame;
+    // Last game received, the displayed game may also show purchases not sent yet
+    private BaseGame confirmedGame;
+    private GameView gameView;
+    @Setter(AccessLevel.PACKAGE)
     private int playerId;
+    @Getter(AccessLevel.PACKAGE)
     private final Display display = new Display();
-    private Map<String, String> langMap;
+    private final ArtCache artCache = new ArtCache();
+    private final WaitingScreen waitingScreen = new WaitingScreen();
+    private LangBundle lang;
     private OelRequest oelRequest;
+    // Purchases of the current turn, sent together when the turn ends
+    private ActionBatch actionBatch;
+    // Purchases the server hasn't made, by player, shown in the main menu until they are bought again
+    private final Map<Integer, List<ActionBatch.Action>> notMadePurchases = new HashMap<>();
+    // Purchases of the last try of the turn have been refused
+    private boolean purchasesRefused = false;
+    // Game has been fetched from the server after a refused request, instead of taken in the waiting menu
+    private boolean currentGameFetched = false;
+    // Round and player of the last summary sent, broadcasts of the round still show the summary
+    private int summarizedRound = 0;
+    private int summarizedPlayerId = -1;
+
+    public Game(Arguments arguments) throws IOException, FontFormatException {
+        this.arguments = arguments;
+
+        wsEndpointUrl = arguments.getWsEndpointUrl();
+        httpEndpointUrl = arguments.getHttpEndpointUrl();
 
-    public Game(String[] args) throws IOException, FontFormatException {
-        this.arguments = CliArgumentsParser.parseArguments(args);
+        setUp();
+    }
 
-        wsEndpointUrl = "ws://" + arguments.getServerAddress() + "/base-game";
-        httpEndpointUrl = "http://" + arguments.getServerAddress() + "/baseGame";
+    // Game displayed on the provided screen, e.g. of a virtual terminal in benchmarks
+    Game(Arguments arguments, Screen screen) throws IOException, FontFormatException {
+        this.arguments = arguments;
+        this.screen = screen;
+
+        wsEndpointUrl = arguments.getWsEndpointUrl();
+        httpEndpointUrl = arguments.getHttpEndpointUrl();
 
         setUp();
     }
@@ -81,24 +122,64 @@ public class Game {
         // Create gameProperties
         gameProperties = new GameProperties();
 
-        setLanguage();
-        setFont();
-        configTerminal();
+        // Independent steps run in the background
+        artCache.preload(ArtCache.ARTS);
+        CompletableFuture<LangBundle> langFuture = runStartupStep(this::readLanguage);
+        CompletableFuture<GameTransport> transportFuture = runStartupStep(this::createTransport);
+
+        // Swing terminal is created only if no screen is provided
+        boolean terminalEmulator = screen == null && useTerminalEmulator();
+        CompletableFuture<Font> fontFuture = null;
+        CompletableFuture<Image> iconFuture = null;
+        if (terminalEmulator) {
+            fontFuture = runStartupStep(this::readFont);
+            iconFuture = runStartupStep(this::readIcon);
+        }
+
+        lang = joinStartupStep(langFuture);
+        gameProperties.setLang(lang);
+
+        // Window appears as soon as the font is ready
+        if (terminalEmulator) {
+            font = joinStartupStep(fontFuture);
+            configTerminal();
+        } else if (screen == null) {
+            configTextTerminal();
+        }
         createGUI();
+        measureFirstFrame();
 
-        requestsCreator = new RequestsCreator(wsEndpointUrl, httpEndpointUrl);
+        // Icon is not needed to display anything
+        if (iconFuture != null) {
+            ((SwingTerminalFrame) terminal).setIconImage(joinStartupStep(iconFuture));
+        }
+
+        transport = joinStartupStep(transportFuture);
     }
 
-    private void setLanguage() throws IOException {
+    // Local game engine for hot-seat games, the server otherwise, nothing is sent while replaying
+    private GameTransport createTransport() throws IOException {
+        if (arguments.getReplay() != null) {
+            return null;
+        }
+        if (arguments.getLocal()) {
+            return new LocalGameEngine();
+        }
+
+        RequestsCreator requestsCreator = new RequestsCreator(wsEndpointUrl, httpEndpointUrl, arguments);
+        requestsCreator.warmUp();
+        return requestsCreator;
+    }
+
+    private LangBundle readLanguage() throws IOException {
         String langCode = arguments.getLang();
 
         InputStream inputStream = Application.class.getClassLoader()
                 .getResourceAsStream("lang/" + langCode + ".json");
-        gameProperties.setLangMap(LangExtractor.getLangData(inputStream));
-        langMap = gameProperties.getLangMap();
+        return LangExtractor.getLangData(inputStream);
     }
 
-    private void setFont() throws IOException, FontFormatException {
+    private Font readFont() throws IOException, FontFormatException {
         InputStream inputStream = Application.class.getClassLoader()
                 .getResourceAsStream("font/C64_Pro_Mono-STYLE.ttf");
 
@@ -107,28 +188,86 @@ public class Game {
         }
 
         Font fontTmp = Font.createFont(Font.TRUETYPE_FONT, inputStream);
-        font = fontTmp.deriveFont(FONT_SIZE);
+        return fontTmp.deriveFont(FONT_SIZE);
+    }
+
+    private Image readIcon() throws IOException {
+        InputStream inputStream = Application.class.getClassLoader()
+                .getResourceAsStream("img/logo.png");
+        return ImageIO.read(inputStream);
     }
 
     private void configTerminal() throws IOException {
         // Create terminal
-        Terminal terminal = new DefaultTerminalFactory()
+        terminal = new DefaultTerminalFactory()
                 .setInitialTerminalSize(new TerminalSize(TERMINAL_WIDTH, TERMINAL_HEIGHT))
                 .setTerminalEmulatorFontConfiguration(SwingTerminalFontConfiguration.newInstance(font))
-                .setTerminalEmulatorTitle(gameProperties.getLangMap().get("windowTitle"))
+                .setTerminalEmulatorTitle(lang.get(LangKey.WINDOW_TITLE))
                 .createTerminalEmulator();
 
-        // Set icon
-        InputStream inputStream = Application.class.getClassLoader()
-                .getResourceAsStream("img/logo.png");
-        Image icon = ImageIO.read(inputStream);
-        ((SwingTerminalFrame) terminal).setIconImage(icon);
-
         // Create screen
         screen = new TerminalScreen(terminal);
         screen.startScreen();
     }
 
+    // Use terminal of the console, e.g. over SSH, without AWT and a display
+    private void configTextTerminal() throws IOException {
+        terminal = new DefaultTerminalFactory()
+                .setForceTextTerminal(true)
+                .createTerminal();
+
+        // Screen sends only the changed characters to the terminal
+        screen = new TerminalScreen(terminal);
+        screen.startScreen();
+    }
+
+    // Whether the game is displayed in the Swing terminal emulator
+    private boolean useTerminalEmulator() {
+        return switch (arguments.getTerminal()) {
+            case "swing" -> true;
+            case "text" -> false;
+            default -> throw new IllegalArgumentException("Unknown terminal: " + arguments.getTerminal());
+        };
+    }
+
+    // Draw the empty window and log how long it took since the JVM start
+    private void measureFirstFrame() throws IOException {
+        gui.updateScreen();
+
+        long timeToFirstFrame = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        Metrics.timer("startup to first frame").record(TimeUnit.MILLISECONDS.toNanos(timeToFirstFrame));
+        log.info("First frame drawn {} ms after start.", timeToFirstFrame);
+    }
+
+    // Run step of the startup in the background
+    private static <T> CompletableFuture<T> runStartupStep(Callable<T> step) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return step.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    // Wait for the step of the startup, rethrowing its exceptions
+    private static <T> T joinStartupStep(CompletableFuture<T> step) throws IOException, FontFormatException {
+        try {
+            return step.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof FontFormatException fontFormatException) {
+                throw fontFormatException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
     private void createGUI() {
         gui = new MultiWindowTextGUI(
                 screen,
@@ -141,38 +280,23 @@ public class Game {
         textGUIThread.start();
 
         gameProperties.setTextGUIThread(textGUIThread);
+        renderScheduler = new RenderScheduler(gui, textGUIThread, arguments.getMaxFps());
         gameProperties.setMainThread(Thread.currentThread());
 
-        // Thread for controlling window close
-        Thread windowCloseControllThread = new Thread(
-                () -> {
-                    while (!gameProperties.getTextGUIThread().getState()
-                            .equals(AsynchronousTextGUIThread.State.STOPPED)) {
-                        try {
-                            Thread.sleep(0);
-                        } catch (InterruptedException e) {
-                            // Auto-generated catch block
-                            log.error("Error in window close controll thread: {}", e.getMessage(), e);
-                        }
-                    }
-
-                    gameProperties.getMainThread().interrupt();
-                });
+        // Thread for controlling window close, sleeps until GUI thread stops
+        VirtualThreads.start("window-close-controll", () -> {
+            try {
+                gameProperties.getTextGUIThread().waitForStop();
+            } catch (InterruptedException e) {
+                return;
+            }
 
-        windowCloseControllThread.start();
+            gameProperties.getMainThread().interrupt();
+        });
 
         // Create window
         window = new BasicWindow();
-        window.setTheme(
-                SimpleTheme.makeTheme(
-                        false,
-                        TextColor.ANSI.BLUE_BRIGHT,
-                        TextColor.ANSI.RED,
-                        TextColor.ANSI.RED,
-                        TextColor.ANSI.BLUE_BRIGHT,
-                        TextColor.ANSI.WHITE_BRIGHT,
-                        TextColor.ANSI.CYAN,
-                        TextColor.ANSI.RED));
+        window.setTheme(Themes.INTRO);
 
         window.setHints(Arrays.asList(Window.Hint.CENTERED, Window.Hint.NO_POST_RENDERING));
         gameProperties.setWindow(window);
@@ -189,6 +313,98 @@ public class Game {
         if (!arguments.getDevMode())
             display.oelLogo();
 
+        if (arguments.getLocal()) {
+            startLocalGame();
+        } else {
+            startOnlineGame();
+        }
+
+        // One session for the whole game
+        progressSession = transport.createProgress();
+        progressSession.connect(baseGame.getGameId());
+
+        try {
+            do {
+                // Waiting menu
+                waitingMenu();
+                if (baseGame.getGameStatus().equals(GameStatus.FINISHED)) {
+                    break;
+                }
+
+                if (baseGame.getIsTurnSummary()) {
+                    // Summary menu
+                    summaryMenu();
+                } else {
+                    // Main menu
+                    mainMenu();
+                }
+            }
+            while (!baseGame.getGameStatus().equals(GameStatus.FINISHED));
+        } finally {
+            progressSession.close();
+        }
+    }
+
+    /**
+     * Play a recorded session back, without any server
+     *
+     * @param sessionLog log written while recording the session
+     * @param realTime   whether to keep the recorded pauses, otherwise it is played at full speed
+     */
+    public void replay(Path sessionLog, boolean realTime) throws IOException, InterruptedException {
+        // Received games go through the same store as in the recorded session
+        GameStateStore gameStateStore = new GameStateStore();
+        int records = 0;
+        long start = System.nanoTime();
+
+        try (SessionLogReader reader = new SessionLogReader(sessionLog)) {
+            for (SessionRecord record = reader.next(); record != null; record = reader.next()) {
+                if (realTime) {
+                    TimeUnit.NANOSECONDS.sleep(record.time() - (System.nanoTime() - start));
+                }
+
+                switch (record.type()) {
+                    case REQUEST -> display.sendingInfo();
+                    case RESPONSE -> replayResponse(record);
+                    case SNAPSHOT -> gameStateStore.putSnapshot(
+                            OBJECT_MAPPER.readValue(record.body(), BaseGame.class),
+                            record.key().isEmpty() ? null : Long.valueOf(record.key()));
+                    case PATCH -> gameStateStore.putPatch(
+                            OBJECT_MAPPER.readValue(record.body(), GameStatePatch.class));
+                }
+
+                // Only the latest state is displayed, as in the waiting menu
+                BaseGame latest = null;
+                for (BaseGame next = gameStateStore.poll(); next != null; next = gameStateStore.poll()) {
+                    latest = next;
+                }
+                if (latest != null) {
+                    setBaseGame(latest);
+                    display.waitingMenu(Metrics.timer("replay receive to render"), gameStateStore.getLastReceivedAt());
+                }
+                records++;
+            }
+        }
+
+        log.info("Replayed {} records in {} ms.", records, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void replayResponse(SessionRecord record) throws IOException {
+        if (record.body().length == 0) {
+            return;
+        }
+
+        setBaseGame(OBJECT_MAPPER.readValue(record.body(), BaseGame.class));
+        // Recorded player is the one who created or joined the game
+        if (record.key().equals(RequestsCreator.getPath(StarterRequest.class))
+                || record.key().equals(RequestsCreator.getPath(JoinRequest.class))) {
+            playerId = baseGame.getPlayers().size() - 1;
+        }
+        display.waitingMenu();
+    }
+
+    // Create or join a game on the server
+    private void startOnlineGame() throws InterruptedException {
         // Prompt for should new game be created
         boolean shouldCreateNewGame = shouldCreateGameMenu();
 
@@ -196,7 +412,7 @@ public class Game {
         int playerAmount = 2;
 
         // Prompt for player name
-        String playerName = promptPlayerName();
+        String playerName = promptPlayerNames(1).get(0);
 
         // Get game depending on whether should you create new one or join existing one
         if (shouldCreateNewGame) {
@@ -204,31 +420,35 @@ public class Game {
                     .playerName(playerName)
                     .playersAmount(playerAmount)
                     .build();
-            baseGame = requestsCreator.oelRequest(oelRequest);
+            setBaseGame(sendRequest(oelRequest));
         } else {
             String gameId = promptGameId();
             oelRequest = JoinRequest.builder()
                     .gameId(gameId)
                     .playerName(playerName)
                     .build();
-            baseGame = requestsCreator.oelRequest(oelRequest);
+            setBaseGame(sendRequest(oelRequest));
         }
         playerId = baseGame.getPlayers().size() - 1;
+    }
 
-        do {
-            // Waiting menu
-            waitingMenu();
+    // Hot-seat game, all the players share this terminal and take turns at it
+    private void startLocalGame() throws InterruptedException {
+        List<String> playerNames = promptPlayerNames(arguments.getPlayersAmount());
 
-            if (baseGame.getIsTurnSummary()) {
-                // Summary menu
-                summaryMenu();
-            } else {
-                // Main menu
-                mainMenu();
-            }
-        }
-        while (!baseGame.getGameStatus().equals(GameStatus.FINISHED));
+        oelRequest = StarterRequest.builder()
+                .playerName(playerNames.get(0))
+                .playersAmount(playerNames.size())
+                .build();
+        setBaseGame(sendRequest(oelRequest));
 
+        for (String playerName : playerNames.subList(1, playerNames.size())) {
+            oelRequest = JoinRequest.builder()
+                    .gameId(baseGame.getGameId())
+                    .playerName(playerName)
+                    .build();
+            setBaseGame(sendRequest(oelRequest));
+        }
     }
 
     /**
@@ -237,46 +457,52 @@ public class Game {
     private void waitingMenu() {
         display.waitingMenu();
 
-        // Websocket connection
-        StandardWebSocketClient client = new StandardWebSocketClient();
-        WebSocketStompClient stompClient = new WebSocketStompClient(client);
-        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
-        BlockingQueue<BaseGame> gamesQueue = new LinkedBlockingQueue<>();
-        StompSessionHandler sessionHandler = new WaitStompSessionHandler(gamesQueue, baseGame);
-
-        stompClient.connectAsync(wsEndpointUrl, sessionHandler);
+        // Game fetched after a refused request is not queued any more, it may already need the player
+        if (currentGameFetched) {
+            currentGameFetched = false;
+            followTurn();
+            if (isPlayersMove()) {
+                return;
+            }
+        }
 
         while (true) {
             try {
-                gui.updateScreen();
-                BaseGame response = gamesQueue.take();
+                BaseGame response = progressSession.take();
+
+                // Updates received meanwhile are applied at once, only the latest state is displayed
+                for (BaseGame next = progressSession.poll(); next != null; next = progressSession.poll()) {
+                    response = next;
+                }
                 log.info("Processing response.");
 
-                baseGame = response;
-                display.waitingMenu();
+                setBaseGame(response);
+                display.waitingMenu(Metrics.timer("stomp receive to render"), progressSession.getLastReceivedAt());
 
-                if (baseGame.getCurrentPlayerTurn() == playerId || baseGame.getIsTurnSummary())
+                followTurn();
+                if (isPlayersMove())
                     break;
             } catch (InterruptedException e) {
                 log.error("Thread interrupted while waiting for messages.");
                 Thread.currentThread().interrupt();
                 break;
-            } catch (IOException e) {
-                throw new RuntimeException(e);
             }
         }
     }
 
+    // In a hot-seat game the terminal always belongs to the player whose turn it is
+    private void followTurn() {
+        if (arguments.getLocal() && baseGame.getCurrentPlayerTurn() >= 0) {
+            playerId = baseGame.getCurrentPlayerTurn();
+        }
+    }
+
     private void summaryMenu() throws InterruptedException {
         Map<Integer, Integer> oilfieldsOilAmountSold = new HashMap<>();
 
-        // Oilfields overview
-        for (Oilfield oilfield : baseGame.getOilfields()) {
-
-            // If user is not owner of the field, move on to the next
-            if (oilfield.getOwnership() == null || !oilfield.getOwnership().getPlayerId().equals(playerId)) {
-                continue;
-            }
+        // Oilfields overview, only of the player's own oilfields
+        for (int oilfieldIndex : gameView.getOwnedOilfields(playerId)) {
+            Oilfield oilfield = baseGame.getOilfields().get(oilfieldIndex);
 
             // If oilfield is able to pump oil
             if (oilfield.isExploitable() && !oilfield.getShouldInfoPlayer()) {
@@ -288,18 +514,30 @@ public class Game {
             display.drillingMenu(oilfield);
         }
 
+        summarizedRound = baseGame.getCurrentRound();
+        summarizedPlayerId = playerId;
+
         oelRequest = SummaryRequest.builder()
                 .gameId(baseGame.getGameId())
                 .playerId(playerId)
                 .oilfieldsOilAmountSold(oilfieldsOilAmountSold)
                 .build();
 
-        requestsCreator.oelRequest(oelRequest);
+        sendRequest(oelRequest);
     }
 
     // main menu with interactions
     private void mainMenu() throws InterruptedException {
+        // Turn starts again if its purchases are refused
+        while (!playTurn()) {
+        }
+        purchasesRefused = false;
+    }
+
+    // Menus of one turn, false if the purchases have been refused
+    private boolean playTurn() throws InterruptedException {
         Player player = baseGame.getPlayers().get(playerId);
+        actionBatch = new ActionBatch(baseGame.getGameId(), playerId);
 
         MenuResponse menuAction;
 
@@ -312,42 +550,42 @@ public class Game {
                 case DRILLS_INDUSTRIES -> {
                     log.info("Drills industries buy menu");
                     menuAction = display.buyIndustryMenu(
-                            baseGame.getDrillsIndustries(),
+                            GameView.IndustryType.DRILLS,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.BLUE,
                             TextColor.ANSI.BLUE, TextColor.ANSI.WHITE_BRIGHT,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
                             TextColor.ANSI.BLUE,
-                            langMap.get("drillsIndustrySale"),
-                            langMap.get("drillsIndustryPrompt"),
-                            langMap.get("drillsPricePrompt"),
+                            lang.get(LangKey.DRILLS_INDUSTRY_SALE),
+                            lang.get(LangKey.DRILLS_INDUSTRY_PROMPT),
+                            lang.get(LangKey.DRILLS_PRICE_PROMPT),
                             60000
                     );
                 }
                 case PUMPS_INDUSTRIES -> {
                     log.info("Pumps industries buy menu");
                     menuAction = display.buyIndustryMenu(
-                            baseGame.getPumpsIndustries(),
+                            GameView.IndustryType.PUMPS,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.BLUE,
                             TextColor.ANSI.BLUE, TextColor.ANSI.WHITE_BRIGHT,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
                             TextColor.ANSI.BLUE,
-                            langMap.get("pumpsIndustrySale"),
-                            langMap.get("pumpsIndustryPrompt"),
-                            langMap.get("pumpsPricePrompt"),
+                            lang.get(LangKey.PUMPS_INDUSTRY_SALE),
+                            lang.get(LangKey.PUMPS_INDUSTRY_PROMPT),
+                            lang.get(LangKey.PUMPS_PRICE_PROMPT),
                             50000
                     );
                 }
                 case CARS_INDUSTRIES -> {
                     log.info("Cars industries buy menu");
                     menuAction = display.buyIndustryMenu(
-                            baseGame.getCarsIndustries(),
+                            GameView.IndustryType.CARS,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.BLUE,
                             TextColor.ANSI.BLUE, TextColor.ANSI.WHITE_BRIGHT,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
                             TextColor.ANSI.BLUE,
-                            langMap.get("carsIndustrySale"),
-                            langMap.get("carsIndustryPrompt"),
-                            langMap.get("carsPricePrompt"),
+                            lang.get(LangKey.CARS_INDUSTRY_SALE),
+                            lang.get(LangKey.CARS_INDUSTRY_PROMPT),
+                            lang.get(LangKey.CARS_PRICE_PROMPT),
                             50000
                     );
                 }
@@ -355,45 +593,50 @@ public class Game {
                     log.info("Oilfield buy menu");
                     menuAction = display.buyOilfieldMenu();
                 }
+                case BUY_AGAIN -> {
+                    log.info("Buying again a purchase not made");
+                    oelRequest = getNotMadePurchases().remove(0).request();
+                    menuAction = MenuResponse.SUCCESS;
+                }
                 case DRILLS -> {
                     log.info("Drills buying menu");
                     menuAction = display.buyProductsMenu(
-                            baseGame.getDrillsIndustries(),
+                            GameView.IndustryType.DRILLS,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.YELLOW,
                             TextColor.ANSI.BLUE, TextColor.ANSI.WHITE_BRIGHT,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
                             TextColor.ANSI.YELLOW,
                             TextColor.ANSI.BLUE,
-                            langMap.get("drillsHereYouCanBuy"),
-                            langMap.get("drillsProductsAmountPrompt"),
+                            lang.get(LangKey.DRILLS_HERE_YOU_CAN_BUY),
+                            lang.get(LangKey.DRILLS_PRODUCTS_AMOUNT_PROMPT),
                             10
                     );
                 }
                 case PUMPS -> {
                     log.info("Pumps buying menu");
                     menuAction = display.buyProductsMenu(
-                            baseGame.getPumpsIndustries(),
+                            GameView.IndustryType.PUMPS,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.BLACK_BRIGHT,
                             TextColor.ANSI.BLACK_BRIGHT, TextColor.ANSI.WHITE_BRIGHT,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
                             TextColor.ANSI.BLACK_BRIGHT,
                             TextColor.ANSI.BLACK,
-                            langMap.get("pumpsHereYouCanBuy"),
-                            langMap.get("pumpsProductsAmountPrompt"),
+                            lang.get(LangKey.PUMPS_HERE_YOU_CAN_BUY),
+                            lang.get(LangKey.PUMPS_PRODUCTS_AMOUNT_PROMPT),
                             15
                     );
                 }
                 case CARS -> {
                     log.info("Cars buying menu");
                     menuAction = display.buyProductsMenu(
-                            baseGame.getCarsIndustries(),
+                            GameView.IndustryType.CARS,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.RED_BRIGHT,
                             TextColor.ANSI.RED_BRIGHT, TextColor.ANSI.WHITE_BRIGHT,
                             TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
                             TextColor.ANSI.RED_BRIGHT,
                             TextColor.ANSI.BLACK,
-                            langMap.get("carsHereYouCanBuy"),
-                            langMap.get("carsProductsAmountPrompt"),
+                            lang.get(LangKey.CARS_HERE_YOU_CAN_BUY),
+                            lang.get(LangKey.CARS_PRODUCTS_AMOUNT_PROMPT),
                             15
                     );
                 }
@@ -401,11 +644,26 @@ public class Game {
                     log.warn("Unhandled menuAction: {}", menuAction);
                 }
             }
+
+            // Player can buy more in the same turn, purchases are sent when the turn ends
+            if (menuAction.equals(MenuResponse.SUCCESS) && ActionBatch.isPurchase(oelRequest)) {
+                actionBatch.add(oelRequest);
+                predict(oelRequest);
+
+                // Without batches the first purchase ends the turn
+                if (transport.isBatchSupported()) {
+                    menuAction = MenuResponse.MAIN_MENU;
+                }
+            }
         }
         while (Objects.equals(menuAction, MenuResponse.MAIN_MENU));
 
+        // All purchases of the turn in one request
+        if (!actionBatch.isEmpty()) {
+            oelRequest = actionBatch;
+        }
         // If something went wrong, log error and return
-        if (!menuAction.equals(MenuResponse.SUCCESS)) {
+        else if (!menuAction.equals(MenuResponse.SUCCESS)) {
             log.error("Menu action code: {}", menuAction);
             oelRequest = PassRequest.builder()
                     .gameId(baseGame.getGameId())
@@ -413,20 +671,156 @@ public class Game {
                     .build();
         }
 
-        baseGame = requestsCreator.oelRequest(oelRequest);
+        try {
+            confirm(sendRequest(oelRequest));
+            reportNotMade();
+            currentGameFetched = false;
+        } catch (OelRequestException e) {
+            rollBack(e);
+            // Turn is played again only if the server still waits for it
+            return !isPlayersTurn();
+        }
+
+        return true;
+    }
+
+    // Batch sent to a server without batches, only its first purchase has been made, the rest is offered again
+    private void reportNotMade() {
+        if (oelRequest != actionBatch || actionBatch.getNotMade().isEmpty()) {
+            return;
+        }
+
+        log.warn("Purchases not made, the server accepts one purchase per turn: {}", actionBatch.getNotMade());
+        Metrics.counter("purchases not made").add(actionBatch.getNotMade().size());
+        getNotMadePurchases().addAll(actionBatch.getNotMade());
+    }
+
+    private List<ActionBatch.Action> getNotMadePurchases() {
+        return notMadePurchases.computeIfAbsent(playerId, id -> new ArrayList<>());
+    }
+
+    // Name of the bought oilfield or industry, with the amount of bought products
+    private String describe(OelRequest purchase) {
+        if (purchase instanceof BuyOilfieldRequest request) {
+            return baseGame.getOilfields().get(request.getOilfieldId()).getName();
+        }
+        if (purchase instanceof BuyIndustryRequest request) {
+            return getIndustryName(request.getIndustryClassName(), request.getIndustryId());
+        }
+
+        BuyProductsRequest request = (BuyProductsRequest) purchase;
+        return request.getProductAmount() + " X "
+                + getIndustryName(request.getIndustryClassName(), request.getIndustryId());
+    }
+
+    private String getIndustryName(String className, int industryId) {
+        for (GameView.IndustryType industryType : GameView.IndustryType.values()) {
+            List<? extends AbstractIndustry> industries = industryType.of(baseGame);
+            if (!industries.isEmpty() && industries.get(0).getClass().getName().equals(className)) {
+                return industries.get(industryId).getName();
+            }
+        }
+        return className;
+    }
+
+    // Indexes of the game are built once for every received game
+    void setBaseGame(BaseGame baseGame) {
+        this.baseGame = baseGame;
+        confirmedGame = baseGame;
+        gameView = GameView.of(baseGame);
+    }
+
+    // Show the purchase at once, on a copy of the received game
+    private void predict(OelRequest purchase) {
+        if (baseGame == confirmedGame) {
+            baseGame = GameCopies.deep(confirmedGame);
+        }
+
+        PurchaseEffects.apply(baseGame, purchase);
+        gameView = GameView.of(baseGame);
+    }
+
+    // Received game replaces the predicted one
+    private void confirm(BaseGame response) {
+        if (response != null && baseGame != confirmedGame) {
+            Double predictedBalance = baseGame.getPlayers().get(playerId).getBalance();
+            Double balance = response.getPlayers().get(playerId).getBalance();
+            if (!Objects.equals(predictedBalance, balance)) {
+                log.info("Predicted balance {} corrected to {}.", predictedBalance, balance);
+                Metrics.counter("prediction corrections").increment();
+            }
+        }
+
+        setBaseGame(response);
+    }
+
+    // Purchases are undone, the game is the one of the server
+    private void rollBack(OelRequestException e) throws InterruptedException {
+        log.warn("Request refused: {}", e.getMessage());
+        Metrics.counter("prediction rollbacks").increment();
+        purchasesRefused = true;
+
+        // Refused batch is made all at once or not at all, so the last response is still the game of the server
+        if (oelRequest == actionBatch && e.getStatusCode() != 0) {
+            setBaseGame(confirmedGame);
+            return;
+        }
+
+        // Otherwise the server may have ended the turn, e.g. if its response has been lost, so it is asked
+        BaseGame current = progressSession.fetch();
+        if (current == null) {
+            log.warn("Current game not received, the last one received is kept.");
+            current = confirmedGame;
+        } else {
+            currentGameFetched = true;
+        }
+        setBaseGame(current);
+    }
+
+    private boolean isPlayersMove() {
+        if (baseGame.getGameStatus().equals(GameStatus.FINISHED)) {
+            return true;
+        }
+
+        // Summary stays on until every player has sent theirs, own summary is sent once
+        if (baseGame.getIsTurnSummary()) {
+            return baseGame.getCurrentRound() != summarizedRound || playerId != summarizedPlayerId;
+        }
+
+        return baseGame.getCurrentPlayerTurn() == playerId;
+    }
+
+    private boolean isPlayersTurn() {
+        return baseGame.getCurrentPlayerTurn() == playerId
+                && !baseGame.getIsTurnSummary()
+                && !baseGame.getGameStatus().equals(GameStatus.FINISHED);
+    }
+
+    // Send request in the background and show sending state until the response arrives
+    private BaseGame sendRequest(OelRequest oelRequest) throws InterruptedException {
+        CompletableFuture<BaseGame> response = transport.oelRequestAsync(oelRequest);
+
+        display.sendingInfo();
+
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            // Window has been closed, do not wait for the server
+            response.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
     }
 
     // Ask player whether they want to connect to a game or create one
     private boolean shouldCreateGameMenu() throws InterruptedException {
         // Prepare new graphical settings
         contentPanel.setLayoutManager(new GridLayout(1));
-        window.setTheme(
-                SimpleTheme.makeTheme(
-                        false,
-                        TextColor.ANSI.BLUE_BRIGHT, TextColor.ANSI.RED,
-                        TextColor.ANSI.RED, TextColor.ANSI.BLUE_BRIGHT,
-                        TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
-                        TextColor.ANSI.RED));
+        window.setTheme(Themes.INTRO);
 
         contentPanel.addComponent(new Label("CZY CHCESZ STWORZYC NOWA GRE?"));
         contentPanel.addComponent(new EmptySpace());
@@ -455,16 +849,7 @@ public class Game {
     private String promptGameId() throws InterruptedException {
         // Prepare new graphical settings
         contentPanel.setLayoutManager(new GridLayout(1));
-        window.setTheme(
-                SimpleTheme.makeTheme(
-                        false,
-                        TextColor.ANSI.BLUE_BRIGHT,
-                        TextColor.ANSI.RED,
-                        TextColor.ANSI.RED,
-                        TextColor.ANSI.BLUE_BRIGHT,
-                        TextColor.ANSI.WHITE_BRIGHT,
-                        TextColor.ANSI.CYAN,
-                        TextColor.ANSI.RED));
+        window.setTheme(Themes.INTRO);
 
         contentPanel.addComponent(new Label("PODAJ ADRES GRY"));
         contentPanel.addComponent(new EmptySpace());
@@ -482,7 +867,7 @@ public class Game {
 
         // Confirmation button
         Confirm tmpConfirm = new Confirm();
-        contentPanel.addComponent(Elements.confirmButton(tmpConfirm, gameProperties.getLangMap().get("done")));
+        contentPanel.addComponent(Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE)));
 
         // Wait for confirmation
         tmpConfirm.waitForConfirm();
@@ -494,73 +879,70 @@ public class Game {
         return gameIdBox.getText();
     }
 
-    // Intro info for player and prompt for names
-    private String promptPlayerName() throws InterruptedException {
+    // Intro info for players and prompt for their names
+    private List<String> promptPlayerNames(int playersAmount) throws InterruptedException {
         // Prepare new graphical settings
         contentPanel.setLayoutManager(new GridLayout(1));
-        window.setTheme(
-                SimpleTheme.makeTheme(
-                        false,
-                        TextColor.ANSI.BLUE_BRIGHT,
-                        TextColor.ANSI.RED,
-                        TextColor.ANSI.RED,
-                        TextColor.ANSI.BLUE_BRIGHT,
-                        TextColor.ANSI.WHITE_BRIGHT,
-                        TextColor.ANSI.CYAN,
-                        TextColor.ANSI.RED));
-
-        contentPanel.addComponent(new Label(gameProperties.getLangMap().get("wereCurrentlyIn") + ":"));
+        window.setTheme(Themes.INTRO);
+
+        contentPanel.addComponent(new Label(lang.get(LangKey.WERE_CURRENTLY_IN) + ":"));
         Game.timeBuffor();
         contentPanel.addComponent(new EmptySpace());
 
         // Fancy 1986
         try {
             // Get 1986 ASCII art
-            InputStream startYearInputStream =
-                    Application.class.getClassLoader().getResourceAsStream("arts/1986.json");
-            contentPanel.addComponent(new ArtObject(startYearInputStream).getImageComponent());
+            contentPanel.addComponent(artCache.getImageComponent("1986"));
         } catch (Exception e) {
             contentPanel.addComponent(new Label("1986"));
         }
         contentPanel.addComponent(new EmptySpace());
 
-        contentPanel.addComponent(new Label(gameProperties.getLangMap().get("gameEndsIn") + " 2020"));
-        contentPanel.addComponent(new Label(gameProperties.getLangMap().get("playersWillBe") + ":"));
+        contentPanel.addComponent(new Label(lang.get(LangKey.GAME_ENDS_IN) + " 2020"));
+        contentPanel.addComponent(new Label(lang.get(LangKey.PLAYERS_WILL_BE) + ":"));
         contentPanel.addComponent(new EmptySpace());
-        contentPanel.addComponent(new Label(gameProperties.getLangMap().get("enterNames")));
+        contentPanel.addComponent(new Label(lang.get(LangKey.ENTER_NAMES)));
 
         // Prompt for names
         Panel promptPanel = new Panel(new GridLayout(2));
 
         // Display correct amount of textbox
-        promptPanel.addComponent(new Label("?"));
-        TextBox playerName =
-                new TextBox(gameProperties.getLangMap().get("player"));
-        promptPanel.addComponent(playerName);
+        List<TextBox> playerNameBoxes = new ArrayList<>();
+        for (int playerNumber = 1; playerNumber <= playersAmount; playerNumber++) {
+            promptPanel.addComponent(new Label("?"));
+            TextBox playerNameBox = new TextBox(
+                    playersAmount == 1 ? lang.get(LangKey.PLAYER) : lang.get(LangKey.PLAYER) + " " + playerNumber);
+            promptPanel.addComponent(playerNameBox);
+            playerNameBoxes.add(playerNameBox);
+        }
 
         contentPanel.addComponent(promptPanel);
         // Set focus to first textbox
-        playerName.takeFocus();
+        playerNameBoxes.get(0).takeFocus();
 
         // Confirmation button
         Confirm tmpConfirm = new Confirm();
-        contentPanel.addComponent(Elements.confirmButton(tmpConfirm, gameProperties.getLangMap().get("done")));
+        contentPanel.addComponent(Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE)));
 
         // Wait for confirmation
         tmpConfirm.waitForConfirm();
 
-        // Log player name
-        log.info("Player: {}", playerName.getText());
+        // Log player names
+        List<String> playerNames = new ArrayList<>();
+        for (TextBox playerNameBox : playerNameBoxes) {
+            log.info("Player: {}", playerNameBox.getText());
+            playerNames.add(playerNameBox.getText());
+        }
 
         // Inform about money amount
         contentPanel.removeAllComponents();
         Game.timeBuffor();
         contentPanel.addComponent(
-                new Label(String.format(gameProperties.getLangMap().get("everyPlayerHas"), 123421)));
+                new Label(String.format(lang.get(LangKey.EVERY_PLAYER_HAS), 123421)));
         contentPanel.addComponent(new EmptySpace());
 
         tmpConfirm = new Confirm();
-        Button confirmButton = Elements.confirmButton(tmpConfirm, gameProperties.getLangMap().get("done"));
+        Button confirmButton = Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE));
         contentPanel.addComponent(confirmButton);
         confirmButton.takeFocus();
 
@@ -570,7 +952,7 @@ public class Game {
         // Clean up
         contentPanel.removeAllComponents();
 
-        return playerName.getText();
+        return playerNames;
     }
 
     public static void timeBuffor() throws InterruptedException {
@@ -580,51 +962,43 @@ public class Game {
     /**
      * Class with all frontend part
      */
-    private class Display {
+    class Display {
 
         public void drillingMenu(Oilfield oilfield) throws InterruptedException {
             contentPanel.removeAllComponents();
             contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(
-                    SimpleTheme.makeTheme(
-                            false,
-                            TextColor.ANSI.GREEN, TextColor.ANSI.WHITE_BRIGHT,
-                            TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.GREEN,
-                            TextColor.ANSI.CYAN, TextColor.ANSI.BLUE_BRIGHT,
-                            TextColor.ANSI.WHITE_BRIGHT));
+            window.setTheme(Themes.DRILLING);
 
             // Inform user about status
             Panel headerPanel = new Panel(new GridLayout(2));
             try {
                 // Get drill ASCII art
-                InputStream drillArtInputStream =
-                        Application.class.getClassLoader().getResourceAsStream("arts/drill.json");
-                headerPanel.addComponent(new ArtObject(drillArtInputStream).getImageComponent());
+                headerPanel.addComponent(artCache.getImageComponent("drill"));
             } catch (Exception e) {
-                System.out.println(e.getMessage());
+                log.error(e.getMessage(), e);
             }
 
             Panel textPanel = new Panel(new GridLayout(1));
 
             textPanel.addComponent(
-                    new Label(langMap.get("drillingOn") + ":")
-                            .setTheme(new SimpleTheme(TextColor.ANSI.RED, TextColor.ANSI.WHITE_BRIGHT)));
+                    new Label(lang.get(LangKey.DRILLING_ON) + ":")
+                            .setTheme(Themes.of(TextColor.ANSI.RED, TextColor.ANSI.WHITE_BRIGHT)));
 
             textPanel.addComponent(
                     new Label(oilfield.getName())
-                            .setTheme(new SimpleTheme(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.WHITE_BRIGHT)));
+                            .setTheme(Themes.of(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.WHITE_BRIGHT)));
 
             textPanel.addComponent(new EmptySpace());
 
             textPanel.addComponent(
                     new Panel(new GridLayout(2))
                             .addComponent(
-                                    new Label(langMap.get("property") + ": ")
+                                    new Label(lang.get(LangKey.PROPERTY) + ": ")
                                             .setTheme(
-                                                    new SimpleTheme(TextColor.ANSI.BLUE_BRIGHT, TextColor.ANSI.WHITE_BRIGHT)))
+                                                    Themes.of(TextColor.ANSI.BLUE_BRIGHT, TextColor.ANSI.WHITE_BRIGHT)))
                             .addComponent(
                                     new Label(baseGame.getPlayers().get(playerId).getName())
-                                            .setTheme(new SimpleTheme(TextColor.ANSI.BLACK, TextColor.ANSI.WHITE_BRIGHT))));
+                                            .setTheme(Themes.of(TextColor.ANSI.BLACK, TextColor.ANSI.WHITE_BRIGHT))));
 
             headerPanel.addComponent(textPanel);
             contentPanel.addComponent(headerPanel);
@@ -632,45 +1006,45 @@ public class Game {
             contentPanel.addComponent(new EmptySpace());
 
             contentPanel.addComponent(
-                    new Label(langMap.get("yourPeopleFromOilfield"))
-                            .setTheme(new SimpleTheme(TextColor.ANSI.BLACK, TextColor.ANSI.WHITE_BRIGHT)));
+                    new Label(lang.get(LangKey.YOUR_PEOPLE_FROM_OILFIELD))
+                            .setTheme(Themes.of(TextColor.ANSI.BLACK, TextColor.ANSI.WHITE_BRIGHT)));
             contentPanel.addComponent(
-                    new Label(langMap.get("areReporting"))
-                            .setTheme(new SimpleTheme(TextColor.ANSI.BLACK, TextColor.ANSI.WHITE_BRIGHT)));
+                    new Label(lang.get(LangKey.ARE_REPORTING))
+                            .setTheme(Themes.of(TextColor.ANSI.BLACK, TextColor.ANSI.WHITE_BRIGHT)));
 
             contentPanel.addComponent(new EmptySpace());
 
             // If no drills, inform player
             if (oilfield.getDrillsAmount() <= 0) {
                 contentPanel.addComponent(
-                        new Label(langMap.get("drillingImpossible"))
-                                .setTheme(new SimpleTheme(TextColor.ANSI.RED, TextColor.ANSI.WHITE_BRIGHT)));
+                        new Label(lang.get(LangKey.DRILLING_IMPOSSIBLE))
+                                .setTheme(Themes.of(TextColor.ANSI.RED, TextColor.ANSI.WHITE_BRIGHT)));
                 contentPanel.addComponent(
-                        new Label(" " + langMap.get("youNeedToDoSomething"))
-                                .setTheme(new SimpleTheme(TextColor.ANSI.RED, TextColor.ANSI.WHITE_BRIGHT)));
+                        new Label(" " + lang.get(LangKey.YOU_NEED_TO_DO_SOMETHING))
+                                .setTheme(Themes.of(TextColor.ANSI.RED, TextColor.ANSI.WHITE_BRIGHT)));
                 contentPanel.addComponent(new EmptySpace());
             }
 
             // In both cases, inform about current progess
             contentPanel.addComponent(
                     new Label(
-                            langMap.get("currentDepth") + ": " + oilfield.getCurrentDepth() + "M"));
+                            lang.get(LangKey.CURRENT_DEPTH) + ": " + oilfield.getCurrentDepth() + "M"));
             contentPanel.addComponent(new EmptySpace());
             contentPanel.addComponent(
                     new Label(
-                            langMap.get("canDrillFor") + ": " + oilfield.getDrillsAmount() + "M"));
+                            lang.get(LangKey.CAN_DRILL_FOR) + ": " + oilfield.getDrillsAmount() + "M"));
             contentPanel.addComponent(new EmptySpace());
 
             // If reached the point that makes it available to extract oil,
             // display info
             if (oilfield.getCurrentDepth() >= oilfield.getRequiredDepth()) {
-                contentPanel.addComponent(new Label(langMap.get("gushed")));
+                contentPanel.addComponent(new Label(lang.get(LangKey.GUSHED)));
                 contentPanel.addComponent(new EmptySpace());
             }
 
             // Button for confirmation
             Confirm tmpConfirm = new Confirm();
-            Button confirmButton = Elements.confirmButton(tmpConfirm, langMap.get("done"));
+            Button confirmButton = Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE));
             contentPanel.addComponent(confirmButton);
             confirmButton.takeFocus();
 
@@ -682,16 +1056,7 @@ public class Game {
             // Prepare graphical settings
             contentPanel.removeAllComponents();
             contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(
-                    SimpleTheme.makeTheme(
-                            false,
-                            TextColor.ANSI.BLACK,
-                            TextColor.ANSI.YELLOW,
-                            TextColor.ANSI.YELLOW,
-                            TextColor.ANSI.BLACK,
-                            TextColor.ANSI.CYAN,
-                            TextColor.ANSI.BLUE_BRIGHT,
-                            TextColor.ANSI.YELLOW));
+            window.setTheme(Themes.OILFIELD_MANAGEMENT);
 
             // Inform user
             Panel headerPanel = new Panel(new GridLayout(2));
@@ -701,28 +1066,23 @@ public class Game {
             // Display ASCII arts
             try {
                 // Get ASCII arts
-                InputStream pumpjackArtInputStream =
-                        Application.class.getClassLoader().getResourceAsStream("arts/pumpjack.json");
-                InputStream truckArtInputStream =
-                        Application.class.getClassLoader().getResourceAsStream("arts/truck.json");
-
-                imagePanel.addComponent(new ArtObject(pumpjackArtInputStream).getImageComponent());
-                imagePanel.addComponent(new ArtObject(truckArtInputStream).getImageComponent());
+                imagePanel.addComponent(artCache.getImageComponent("pumpjack"));
+                imagePanel.addComponent(artCache.getImageComponent("truck"));
             } catch (Exception e) {
-                System.out.println(e.getMessage());
+                log.error(e.getMessage(), e);
             }
 
             // Display general oilfield info
             oilfieldInfoPanel.addComponent(
-                    new Label("  " + langMap.get("oilfield") + " : ")
-                            .setTheme(new SimpleTheme(TextColor.ANSI.YELLOW, TextColor.ANSI.BLACK)));
+                    new Label("  " + lang.get(LangKey.OILFIELD) + " : ")
+                            .setTheme(Themes.of(TextColor.ANSI.YELLOW, TextColor.ANSI.BLACK)));
             oilfieldInfoPanel.addComponent(
                     new Label(oilfield.getName())
-                            .setTheme(new SimpleTheme(TextColor.ANSI.BLUE, TextColor.ANSI.YELLOW)));
+                            .setTheme(Themes.of(TextColor.ANSI.BLUE, TextColor.ANSI.YELLOW)));
             oilfieldInfoPanel.addComponent(new Label("▔".repeat(17)));
             oilfieldInfoPanel.addComponent(
-                    new Label(" " + langMap.get("oilfieldOwner") + " ")
-                            .setTheme(new SimpleTheme(TextColor.ANSI.YELLOW, TextColor.ANSI.BLACK)));
+                    new Label(" " + lang.get(LangKey.OILFIELD_OWNER) + " ")
+                            .setTheme(Themes.of(TextColor.ANSI.YELLOW, TextColor.ANSI.BLACK)));
             oilfieldInfoPanel.addComponent(new Label(baseGame.getPlayers().get(playerId).getName()));
             oilfieldInfoPanel.addComponent(new Label("▔".repeat(17)));
 
@@ -732,59 +1092,59 @@ public class Game {
 
             contentPanel.addComponent(
                     new Panel(new GridLayout(2))
-                            .addComponent(new Label(langMap.get("year") + ": "))
+                            .addComponent(new Label(lang.get(LangKey.YEAR) + ": "))
                             .addComponent(
                                     new Label(String.valueOf(baseGame.getCurrentRound() + 1985))
                                             .setTheme(
-                                                    new SimpleTheme(TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.YELLOW))));
+                                                    Themes.of(TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.YELLOW))));
 
             contentPanel.addComponent(new EmptySpace());
             contentPanel.addComponent(
                     new Label("MI$ & RY$ & SONS -")
-                            .setTheme(new SimpleTheme(TextColor.ANSI.BLUE, TextColor.ANSI.YELLOW)));
+                            .setTheme(Themes.of(TextColor.ANSI.BLUE, TextColor.ANSI.YELLOW)));
             contentPanel.addComponent(
                     new Label(
-                            langMap.get("oilSellPrice")
+                            lang.get(LangKey.OIL_SELL_PRICE)
                                     + " = "
                                     + baseGame.getOilPrices().get(baseGame.getCurrentRound() - 1)
                                     + " $")
-                            .setTheme(new SimpleTheme(TextColor.ANSI.BLUE, TextColor.ANSI.YELLOW)));
+                            .setTheme(Themes.of(TextColor.ANSI.BLUE, TextColor.ANSI.YELLOW)));
 
             contentPanel.addComponent(new EmptySpace());
 
             contentPanel.addComponent(
                     new Panel(new GridLayout(2))
-                            .addComponent(new Label(langMap.get("pumpAmount")))
+                            .addComponent(new Label(lang.get(LangKey.PUMP_AMOUNT)))
                             .addComponent(new Label(": " + oilfield.getPumpsAmount()))
                             .addComponent(
-                                    new Label(langMap.get("pumpedOut"))
-                                            .setTheme(new SimpleTheme(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
+                                    new Label(lang.get(LangKey.PUMPED_OUT))
+                                            .setTheme(Themes.of(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
                             .addComponent(
                                     new Label(": " + oilfield.getOilAvailabletoSell())
-                                            .setTheme(new SimpleTheme(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
-                            .addComponent(new Label(langMap.get("carsAmount")))
+                                            .setTheme(Themes.of(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
+                            .addComponent(new Label(lang.get(LangKey.CARS_AMOUNT)))
                             .addComponent(new Label(": " + oilfield.getCarsAmount()))
                             .addComponent(
-                                    new Label(langMap.get("maxExport"))
-                                            .setTheme(new SimpleTheme(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
+                                    new Label(lang.get(LangKey.MAX_EXPORT))
+                                            .setTheme(Themes.of(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
                             .addComponent(
                                     new Label(": " + oilfield.getCarsAmount() * 7000)
-                                            .setTheme(new SimpleTheme(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
-                            .addComponent(new Label(langMap.get("yourBalance")))
+                                            .setTheme(Themes.of(TextColor.ANSI.GREEN_BRIGHT, TextColor.ANSI.YELLOW)))
+                            .addComponent(new Label(lang.get(LangKey.YOUR_BALANCE)))
                             .addComponent(new Label(": " + baseGame.getPlayers().get(playerId).getBalance())));
 
             contentPanel.addComponent(new EmptySpace());
 
             // If oilfield is out of oil, inform user
             if (oilfield.getOilExtracted() > oilfield.getTotalOilAmount()) {
-                contentPanel.addComponent(new Label(langMap.get("sourceExhausted")));
+                contentPanel.addComponent(new Label(lang.get(LangKey.SOURCE_EXHAUSTED)));
                 contentPanel.addComponent(new EmptySpace());
             }
 
             // If can sell oil
             if (oilfield.getOilAvailabletoSell() > 0 && oilfield.getCarsAmount() > 0) {
                 // Ask for amount of oil
-                contentPanel.addComponent(new Label(langMap.get("howMuchOilAreYouSelling")));
+                contentPanel.addComponent(new Label(lang.get(LangKey.HOW_MUCH_OIL_ARE_YOU_SELLING)));
 
                 TextBox oilAmountToSellTextBox =
                         new TextBox().setValidationPattern(Pattern.compile("[0-9]*"));
@@ -793,7 +1153,7 @@ public class Game {
                 oilAmountToSellTextBox.takeFocus();
 
                 Confirm tmpConfirm = new Confirm();
-                contentPanel.addComponent(Elements.confirmButton(tmpConfirm, langMap.get("done")));
+                contentPanel.addComponent(Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE)));
 
                 // If confirm button is pressed and choise is valid, let it be
                 do {
@@ -811,7 +1171,7 @@ public class Game {
             else {
                 Confirm tmpConfirm = new Confirm();
 
-                Button confirmButton = Elements.confirmButton(tmpConfirm, langMap.get("done"));
+                Button confirmButton = Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE));
                 contentPanel.addComponent(confirmButton);
                 confirmButton.takeFocus();
 
@@ -824,26 +1184,20 @@ public class Game {
         public MenuResponse buyOilfieldMenu() throws InterruptedException {
             contentPanel.removeAllComponents();
             contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(
-                    SimpleTheme.makeTheme(
-                            false,
-                            TextColor.ANSI.BLACK, TextColor.ANSI.BLUE_BRIGHT,
-                            TextColor.ANSI.YELLOW_BRIGHT, TextColor.ANSI.BLUE,
-                            TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
-                            TextColor.ANSI.BLUE_BRIGHT));
+            window.setTheme(Themes.BUY_OILFIELD);
 
             // Display title and player details
             Panel titlePanel = new Panel(new GridLayout(1));
             titlePanel.setTheme(
-                    new SimpleTheme(
+                    Themes.of(
                             TextColor.ANSI.BLUE_BRIGHT, TextColor.ANSI.YELLOW_BRIGHT));
             titlePanel.addComponent(new EmptySpace());
             titlePanel.addComponent(
                     new Label(
-                            langMap.get("oilfieldsSale")));
+                            lang.get(LangKey.OILFIELDS_SALE)));
             titlePanel.addComponent(
                     new Label(
-                            langMap.get("balance2")
+                            lang.get(LangKey.BALANCE2)
                                     + ": "
                                     + String.valueOf(baseGame.getPlayers().get(playerId).getBalance())
                                     + "$"));
@@ -858,11 +1212,11 @@ public class Game {
             // Panel for old ownerships
             Panel oldOwnershipPanel = new Panel(new GridLayout(1));
             oldOwnershipPanel.setTheme(
-                    new SimpleTheme(
+                    Themes.of(
                             TextColor.ANSI.YELLOW_BRIGHT, TextColor.ANSI.BLUE_BRIGHT));
             oldOwnershipPanel.addComponent(
                     new Label(
-                            langMap.get("oldOwnership")));
+                            lang.get(LangKey.OLD_OWNERSHIP)));
             oldOwnershipPanel.addComponent(new EmptySpace());
             oldOwnershipPanel.addComponent(new Label("1-2: SMAR & CO."));
             oldOwnershipPanel.addComponent(new Label("3-4: R.R. INC."));
@@ -876,26 +1230,14 @@ public class Game {
             // Panel for oilfields
             Panel oilfieldsPanel = new Panel(new GridLayout(1));
 
-            // Create table
-            Table<String> oilfieldsTable = new Table<String>(
+            // Create table of every oilfield which is not bought yet
+            GameTableModel<Oilfield> oilfieldsModel = GameTableModel.of(
                     "NR",
-                    langMap.get("name"),
-                    langMap.get("price"));
-
-            // Add every available oilfield to table
-            List<Oilfield> oilfields = baseGame.getOilfields();
-            oilfieldsTable.getTableModel().addRow("0", "-", "-");
-            for (int oilfieldIndex = 0; oilfieldIndex < oilfields.size(); oilfieldIndex++) {
-                if (!oilfields.get(oilfieldIndex).isBought()) {
-                    // If oilfield is not bought, make it possible to buy it
-                    oilfieldsTable
-                            .getTableModel()
-                            .addRow(
-                                    String.valueOf(oilfieldIndex + 1),
-                                    oilfields.get(oilfieldIndex).getName(),
-                                    String.valueOf(oilfields.get(oilfieldIndex).getPlantPrice()) + "$");
-                }
-            }
+                    baseGame.getOilfields(),
+                    gameView.getUnboughtOilfields(),
+                    GameTableModel.Column.text(lang.get(LangKey.NAME), Oilfield::getName),
+                    GameTableModel.Column.number(lang.get(LangKey.PRICE), Oilfield::getPlantPrice, "$"));
+            Table<Integer> oilfieldsTable = oilfieldsModel.createTable();
 
             Confirm tmpConfirm = new Confirm();
             oilfieldsTable.setSelectAction(tmpConfirm::confirm);
@@ -908,14 +1250,13 @@ public class Game {
             contentPanel.addComponent(oilPanel);
             oilfieldsTable.takeFocus();
             contentPanel.addComponent(new EmptySpace());
-            contentPanel.addComponent(new Label(langMap.get("oilfieldsPrompt")));
+            contentPanel.addComponent(new Label(lang.get(LangKey.OILFIELDS_PROMPT)));
 
             // Wait for selection
             tmpConfirm.waitForConfirm();
-            oilfieldsTable.setEnabled(false);
-            int selectedOilfieldIndex = Integer.parseInt(
-                    oilfieldsTable.getTableModel().getRow(oilfieldsTable.getSelectedRow()).get(0))
-                    - 1;
+            // Disabled on the GUI thread, which locks the table while drawing it
+            gameProperties.getTextGUIThread().invokeLater(() -> oilfieldsTable.setEnabled(false));
+            int selectedOilfieldIndex = oilfieldsModel.getIndex(oilfieldsTable.getSelectedRow());
 
             // If 0 selected, return
             if (selectedOilfieldIndex == -1) {
@@ -935,7 +1276,7 @@ public class Game {
         }
 
         public MenuResponse buyProductsMenu(
-                List<? extends AbstractIndustry> industries,
+                GameView.IndustryType industryType,
                 TextColor baseForeground, TextColor baseBackground,
                 TextColor editableForeground, TextColor editableBackground,
                 TextColor selectedForeground, TextColor selectedBackground,
@@ -946,8 +1287,7 @@ public class Game {
         ) throws InterruptedException {
             contentPanel.removeAllComponents();
             contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(SimpleTheme.makeTheme(
-                    false,
+            window.setTheme(Themes.menu(
                     baseForeground, baseBackground,
                     editableForeground, editableBackground,
                     selectedForeground, selectedBackground,
@@ -955,12 +1295,12 @@ public class Game {
 
             // Display title
             Panel titlePanel = new Panel(new GridLayout(1));
-            titlePanel.setTheme(new SimpleTheme(baseBackground, baseForeground));
+            titlePanel.setTheme(Themes.of(baseBackground, baseForeground));
             titlePanel.addComponent(new EmptySpace());
             titlePanel.addComponent(new Label(hereYouCanBuy));
             titlePanel.addComponent(
                     new Label(
-                            langMap.get("balance2")
+                            lang.get(LangKey.BALANCE2)
                                     + ": "
                                     + baseGame.getPlayers().get(playerId).getBalance()
                                     + "$"));
@@ -969,37 +1309,24 @@ public class Game {
 
             contentPanel.addComponent(new EmptySpace());
 
-            // Create table
-            Table<String> productsTable =
-                    new Table<>(
-                            "NR",
-                            langMap.get("industryName"),
-                            langMap.get("productsAmount"),
-                            langMap.get("price"));
+            // Create table of every bought industry which has products
+            List<? extends AbstractIndustry> industries = industryType.of(baseGame);
+            GameTableModel<AbstractIndustry> productsModel = GameTableModel.of(
+                    "NR",
+                    industries,
+                    gameView.getIndustriesWithStock(industryType),
+                    GameTableModel.Column.text(lang.get(LangKey.INDUSTRY_NAME), AbstractIndustry::getName),
+                    GameTableModel.Column.number(
+                            lang.get(LangKey.PRODUCTS_AMOUNT), AbstractIndustry::getProductsAmount, ""),
+                    GameTableModel.Column.number(lang.get(LangKey.PRICE), AbstractIndustry::getProductPrice, "$"));
+            Table<Integer> productsTable = productsModel.createTable();
             productsTable.setTheme(
-                    SimpleTheme.makeTheme(
-                            false,
+                    Themes.menu(
                             tableForeground, baseBackground,
                             editableForeground, editableBackground,
                             selectedForeground, selectedBackground,
                             guiBackground));
 
-            // Add every available industry to table
-            productsTable.getTableModel().addRow("0", "-", "-", "-");
-            for (int industryIndex = 0; industryIndex < industries.size(); industryIndex++) {
-                if (industries.get(industryIndex).isBought()
-                        && industries.get(industryIndex).getProductsAmount() != 0) {
-                    // If industry is bought and has products,
-                    // make it possible to buy it
-                    productsTable
-                            .getTableModel()
-                            .addRow(
-                                    String.valueOf(industryIndex + 1),
-                                    industries.get(industryIndex).getName(),
-                                    String.valueOf(industries.get(industryIndex).getProductsAmount()),
-                                    industries.get(industryIndex).getProductPrice() + "$");
-                }
-            }
 
             Confirm tmpConfirm = new Confirm();
             productsTable.setSelectAction(tmpConfirm::confirm);
@@ -1008,15 +1335,12 @@ public class Game {
             contentPanel.addComponent(productsTable);
             productsTable.takeFocus();
             contentPanel.addComponent(new EmptySpace());
-            contentPanel.addComponent(new Label(langMap.get("whereToBuy")));
+            contentPanel.addComponent(new Label(lang.get(LangKey.WHERE_TO_BUY)));
 
             // Wait for selection
             tmpConfirm.waitForConfirm();
             tmpConfirm = null;
-            int selectedIndustryIndex =
-                    Integer.parseInt(
-                            productsTable.getTableModel().getRow(productsTable.getSelectedRow()).get(0))
-                            - 1;
+            int selectedIndustryIndex = productsModel.getIndex(productsTable.getSelectedRow());
 
             // If 0 selected, return
             if (selectedIndustryIndex == -1) {
@@ -1038,7 +1362,7 @@ public class Game {
                 productAmountBox.setValidationPattern(Pattern.compile("[0-9]*"));
                 contentPanel.addComponent(productAmountBox);
                 tmpConfirm = new Confirm();
-                contentPanel.addComponent(Elements.confirmButton(tmpConfirm, langMap.get("done")));
+                contentPanel.addComponent(Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE)));
 
                 // Wait for selection
                 productAmountBox.takeFocus();
@@ -1054,31 +1378,19 @@ public class Game {
 
             // Prompt for oilfield
             contentPanel.addComponent(new EmptySpace());
-            contentPanel.addComponent(new Label(langMap.get("onWhatOilfield")));
+            contentPanel.addComponent(new Label(lang.get(LangKey.ON_WHAT_OILFIELD)));
 
             // Display all the oilfields
 
-            // Create table
-            Table<String> oilfieldsTable =
-                    new Table<>(
-                            "NR", langMap.get("name"), langMap.get("property"));
-
-            // Add every available oilfield to table
-            List<Oilfield> oilfields = baseGame.getOilfields();
-            oilfieldsTable.getTableModel().addRow("0", "-", "-");
-            for (int oilfieldIndex = 0; oilfieldIndex < oilfields.size(); oilfieldIndex++) {
-                // If oilfield is bought, display the name
-                String ownerName = "---";
-                if (oilfields.get(oilfieldIndex).isBought()) {
-                    ownerName = oilfields.get(oilfieldIndex).getOwnership().getName();
-                }
-                oilfieldsTable
-                        .getTableModel()
-                        .addRow(
-                                String.valueOf(oilfieldIndex + 1),
-                                oilfields.get(oilfieldIndex).getName(),
-                                ownerName);
-            }
+            // Create table of every oilfield with its owner
+            GameTableModel<Oilfield> oilfieldsModel = GameTableModel.of(
+                    "NR",
+                    baseGame.getOilfields(),
+                    GameTableModel.Column.text(lang.get(LangKey.NAME), Oilfield::getName),
+                    GameTableModel.Column.text(
+                            lang.get(LangKey.PROPERTY),
+                            oilfield -> oilfield.isBought() ? oilfield.getOwnership().getName() : "---"));
+            Table<Integer> oilfieldsTable = oilfieldsModel.createTable();
 
             tmpConfirm = new Confirm();
             oilfieldsTable.setSelectAction(tmpConfirm::confirm);
@@ -1089,10 +1401,7 @@ public class Game {
 
             // Wait for selection
             tmpConfirm.waitForConfirm();
-            int selectedOilfieldIndex =
-                    Integer.parseInt(
-                            oilfieldsTable.getTableModel().getRow(oilfieldsTable.getSelectedRow()).get(0))
-                            - 1;
+            int selectedOilfieldIndex = oilfieldsModel.getIndex(oilfieldsTable.getSelectedRow());
 
             // If 0 selected, return
             if (selectedOilfieldIndex == -1) {
@@ -1115,7 +1424,7 @@ public class Game {
         }
 
         public MenuResponse buyIndustryMenu(
-                List<? extends AbstractIndustry> industries,
+                GameView.IndustryType industryType,
                 TextColor baseForeground, TextColor baseBackground,
                 TextColor editableForeground, TextColor editableBackground,
                 TextColor selectedForeground, TextColor selectedBackground,
@@ -1125,8 +1434,7 @@ public class Game {
         ) throws InterruptedException {
             contentPanel.removeAllComponents();
             contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(SimpleTheme.makeTheme(
-                    false,
+            window.setTheme(Themes.menu(
                     baseForeground, baseBackground,
                     editableForeground, editableBackground,
                     selectedForeground, selectedBackground,
@@ -1134,12 +1442,12 @@ public class Game {
 
             // Display title
             Panel titlePanel = new Panel(new GridLayout(1));
-            titlePanel.setTheme(new SimpleTheme(baseBackground, baseForeground));
+            titlePanel.setTheme(Themes.of(baseBackground, baseForeground));
             titlePanel.addComponent(new EmptySpace());
             titlePanel.addComponent(new Label(industrySale));
             titlePanel.addComponent(
                     new Label(
-                            langMap.get("balance2")
+                            lang.get(LangKey.BALANCE2)
                                     + ": "
                                     + baseGame.getPlayers().get(playerId).getBalance()
                                     + "$"));
@@ -1148,28 +1456,17 @@ public class Game {
 
             contentPanel.addComponent(new EmptySpace());
 
-            // Create table
-            Table<String> industriesTable =
-                    new Table<>(
-                            "NR",
-                            langMap.get("industryName"),
-                            langMap.get("productsAmount"),
-                            langMap.get("price"));
-
-            // Add every available industry to table
-            industriesTable.getTableModel().addRow("0", "-", "-", "-");
-            for (int industryIndex = 0; industryIndex < industries.size(); industryIndex++) {
-                if (!industries.get(industryIndex).isBought()) {
-                    // If industry is not bought, make it possible to buy it
-                    industriesTable
-                            .getTableModel()
-                            .addRow(
-                                    String.valueOf(industryIndex + 1),
-                                    industries.get(industryIndex).getName(),
-                                    String.valueOf(industries.get(industryIndex).getProductsAmount()),
-                                    industries.get(industryIndex).getPlantPrice() + "$");
-                }
-            }
+            // Create table of every industry which is not bought yet
+            List<? extends AbstractIndustry> industries = industryType.of(baseGame);
+            GameTableModel<AbstractIndustry> industriesModel = GameTableModel.of(
+                    "NR",
+                    industries,
+                    gameView.getUnboughtIndustries(industryType),
+                    GameTableModel.Column.text(lang.get(LangKey.INDUSTRY_NAME), AbstractIndustry::getName),
+                    GameTableModel.Column.number(
+                            lang.get(LangKey.PRODUCTS_AMOUNT), AbstractIndustry::getProductsAmount, ""),
+                    GameTableModel.Column.number(lang.get(LangKey.PRICE), AbstractIndustry::getPlantPrice, "$"));
+            Table<Integer> industriesTable = industriesModel.createTable();
 
             Confirm tmpConfirm = new Confirm();
             industriesTable.setSelectAction(tmpConfirm::confirm);
@@ -1182,11 +1479,10 @@ public class Game {
 
             // Wait for selection
             tmpConfirm.waitForConfirm();
-            industriesTable.setEnabled(false);
-            int selectedIndustryIndex =
-                    Integer.parseInt(
-                            industriesTable.getTableModel().getRow(industriesTable.getSelectedRow()).get(0))
-                            - 1;
+            // Disabled on the GUI thread, which locks the table while drawing it
+            gameProperties.getTextGUIThread().invokeLater(() -> industriesTable.setEnabled(false));
+            int selectedIndustryIndex = industriesModel.getIndex(industriesTable.getSelectedRow());
+            AbstractIndustry selectedIndustry = industriesModel.getObject(industriesTable.getSelectedRow());
 
             // If 0 selected, return
             if (selectedIndustryIndex == -1) {
@@ -1198,8 +1494,8 @@ public class Game {
             // Inform user about purchase
             contentPanel.addComponent(new EmptySpace());
             contentPanel.addComponent(
-                    new Label(langMap.get("youAreOwnerOfIndustry") + ": "));
-            contentPanel.addComponent(new Label(industries.get(selectedIndustryIndex).getName()));
+                    new Label(lang.get(LangKey.YOU_ARE_OWNER_OF_INDUSTRY) + ": "));
+            contentPanel.addComponent(new Label(selectedIndustry.getName()));
             contentPanel.addComponent(new EmptySpace());
             contentPanel.addComponent(new Label(pricePrompt));
 
@@ -1210,7 +1506,7 @@ public class Game {
             productPriceBox.takeFocus();
 
             tmpConfirm = new Confirm();
-            contentPanel.addComponent(Elements.confirmButton(tmpConfirm, langMap.get("done")));
+            contentPanel.addComponent(Elements.confirmButton(tmpConfirm, lang.get(LangKey.DONE)));
 
             // If confirm button is pressed and choice is valid, let it be
             do {
@@ -1241,44 +1537,48 @@ public class Game {
             // Prepare new graphical settings
             contentPanel.removeAllComponents();
             contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(
-                    SimpleTheme.makeTheme(
-                            false,
-                            TextColor.ANSI.WHITE_BRIGHT,
-                            TextColor.ANSI.MAGENTA,
-                            TextColor.ANSI.MAGENTA,
-                            TextColor.ANSI.WHITE_BRIGHT,
-                            TextColor.ANSI.WHITE_BRIGHT,
-                            TextColor.ANSI.CYAN,
-                            TextColor.ANSI.MAGENTA));
-
-            // Create theme for black buttons not to make them different when selected
-            Theme blackButton =
-                    SimpleTheme.makeTheme(
-                            false,
-                            TextColor.ANSI.BLACK,
-                            TextColor.ANSI.MAGENTA,
-                            TextColor.ANSI.BLACK,
-                            TextColor.ANSI.WHITE_BRIGHT,
-                            TextColor.ANSI.WHITE_BRIGHT,
-                            TextColor.ANSI.CYAN,
-                            TextColor.ANSI.MAGENTA);
+            window.setTheme(Themes.MAIN_MENU);
 
             // Display options
             contentPanel.addComponent(
-                    new Label(gameProperties.getLangMap().get("itsYourDecision"))
-                            .setTheme(new SimpleTheme(TextColor.ANSI.MAGENTA, TextColor.ANSI.WHITE_BRIGHT)));
+                    new Label(lang.get(LangKey.ITS_YOUR_DECISION))
+                            .setTheme(Themes.of(TextColor.ANSI.MAGENTA, TextColor.ANSI.WHITE_BRIGHT)));
 
             contentPanel.addComponent(new EmptySpace());
 
             contentPanel.addComponent(
                     new Label(
-                            gameProperties.getLangMap().get("player").toUpperCase()
+                            lang.get(LangKey.PLAYER).toUpperCase()
                                     + ": "
                                     + baseGame.getPlayers().get(playerId).getName()
                                     + " $= "
                                     + baseGame.getPlayers().get(playerId).getBalance())
-                            .setTheme(new SimpleTheme(TextColor.ANSI.CYAN_BRIGHT, TextColor.ANSI.MAGENTA)));
+                            .setTheme(Themes.of(TextColor.ANSI.CYAN_BRIGHT, TextColor.ANSI.MAGENTA)));
+
+            if (purchasesRefused) {
+                contentPanel.addComponent(
+                        new Label(lang.get(LangKey.PURCHASES_REFUSED))
+                                .setTheme(Themes.of(TextColor.ANSI.RED_BRIGHT, TextColor.ANSI.MAGENTA)));
+            }
+
+            // Purchases waiting for the end of the turn
+            if (actionBatch != null && !actionBatch.isEmpty()) {
+                contentPanel.addComponent(
+                        new Label(lang.get(LangKey.PURCHASES_IN_TURN) + ": " + actionBatch.size())
+                                .setTheme(Themes.of(TextColor.ANSI.CYAN_BRIGHT, TextColor.ANSI.MAGENTA)));
+            }
+
+            // Purchases of earlier turns the server hasn't made
+            if (!getNotMadePurchases().isEmpty()) {
+                contentPanel.addComponent(
+                        new Label(lang.get(LangKey.PURCHASES_NOT_MADE) + ":")
+                                .setTheme(Themes.of(TextColor.ANSI.RED_BRIGHT, TextColor.ANSI.MAGENTA)));
+                for (ActionBatch.Action action : getNotMadePurchases()) {
+                    contentPanel.addComponent(
+                            new Label(" " + describe(action.request()))
+                                    .setTheme(Themes.of(TextColor.ANSI.RED_BRIGHT, TextColor.ANSI.MAGENTA)));
+                }
+            }
 
             contentPanel.addComponent(new EmptySpace());
 
@@ -1287,66 +1587,73 @@ public class Game {
 
             // Options pt. 1
             contentPanel.addComponent(
-                    new Label(" " + gameProperties.getLangMap().get("buying") + " ")
-                            .setTheme(new SimpleTheme(TextColor.ANSI.MAGENTA, TextColor.ANSI.BLUE)));
+                    new Label(" " + lang.get(LangKey.BUYING) + " ")
+                            .setTheme(Themes.of(TextColor.ANSI.MAGENTA, TextColor.ANSI.BLUE)));
 
             Component firstButton =
                     new Button(
-                            gameProperties.getLangMap().get("drillsIndustries"),
+                            lang.get(LangKey.DRILLS_INDUSTRIES),
                             () -> tmpConfirm.confirm("A"))
-                            .setTheme(blackButton);
+                            .setTheme(Themes.MAIN_MENU_BLACK_BUTTON);
             contentPanel.addComponent(firstButton);
             ((Interactable) firstButton).takeFocus();
 
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("pumpsIndustries"),
+                            lang.get(LangKey.PUMPS_INDUSTRIES),
                             () -> tmpConfirm.confirm("B")));
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("carsIndustries"),
+                            lang.get(LangKey.CARS_INDUSTRIES),
                             () -> tmpConfirm.confirm("C"))
-                            .setTheme(blackButton));
+                            .setTheme(Themes.MAIN_MENU_BLACK_BUTTON));
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("oilfields"),
+                            lang.get(LangKey.OILFIELDS),
                             () -> tmpConfirm.confirm("D")));
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("drills"),
+                            lang.get(LangKey.DRILLS),
                             () -> tmpConfirm.confirm("E"))
-                            .setTheme(blackButton));
+                            .setTheme(Themes.MAIN_MENU_BLACK_BUTTON));
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("pumps"),
+                            lang.get(LangKey.PUMPS),
                             () -> tmpConfirm.confirm("F")));
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("cars"),
+                            lang.get(LangKey.CARS),
                             () -> tmpConfirm.confirm("G"))
-                            .setTheme(blackButton));
+                            .setTheme(Themes.MAIN_MENU_BLACK_BUTTON));
 
             // Space
             contentPanel.addComponent(new EmptySpace());
 
             // Options pt. 2
             contentPanel.addComponent(
-                    new Label(" " + gameProperties.getLangMap().get("otherPossibilities") + " ")
-                            .setTheme(new SimpleTheme(TextColor.ANSI.MAGENTA, TextColor.ANSI.BLUE)));
+                    new Label(" " + lang.get(LangKey.OTHER_POSSIBILITIES) + " ")
+                            .setTheme(Themes.of(TextColor.ANSI.MAGENTA, TextColor.ANSI.BLUE)));
 
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("nextPlayer"),
+                            lang.get(LangKey.NEXT_PLAYER),
                             () -> tmpConfirm.confirm("H")));
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("attemptSabotage"),
+                            lang.get(LangKey.ATTEMPT_SABOTAGE),
                             () -> tmpConfirm.confirm("I"))
-                            .setTheme(blackButton));
+                            .setTheme(Themes.MAIN_MENU_BLACK_BUTTON));
             contentPanel.addComponent(
                     new Button(
-                            gameProperties.getLangMap().get("changePrices"),
+                            lang.get(LangKey.CHANGE_PRICES),
                             () -> tmpConfirm.confirm("J")));
+            if (!getNotMadePurchases().isEmpty()) {
+                contentPanel.addComponent(
+                        new Button(
+                                lang.get(LangKey.BUY_AGAIN),
+                                () -> tmpConfirm.confirm("K"))
+                                .setTheme(Themes.MAIN_MENU_BLACK_BUTTON));
+            }
 
             tmpConfirm.waitForConfirm();
             contentPanel.removeAllComponents();
@@ -1363,6 +1670,7 @@ public class Game {
                 case "H" -> MenuResponse.PASS;
                 case "I" -> MenuResponse.SABOTAGE;
                 case "J" -> MenuResponse.CHANGE_PRICES;
+                case "K" -> MenuResponse.BUY_AGAIN;
                 default -> {
                     log.error("No/wrong value provided in menu.");
                     yield null;
@@ -1374,55 +1682,47 @@ public class Game {
          * Waiting menu
          */
         public void waitingMenu() {
-            contentPanel.removeAllComponents();
-            contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(
-                    SimpleTheme.makeTheme(
-                            false,
-                            TextColor.ANSI.BLACK, TextColor.ANSI.WHITE_BRIGHT,
-                            TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.BLACK,
-                            TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
-                            TextColor.ANSI.WHITE_BRIGHT));
+            waitingMenu(null, 0);
+        }
 
-            contentPanel.addComponent(new EmptySpace());
-            contentPanel.addComponent(new Label("ID: " + baseGame.getGameId()));
-            if (baseGame.getGameStatus().equals(GameStatus.IN_PROGRESS)) {
-                contentPanel.addComponent(new Label("CZEKANIE NA TURE.  ROK: " + baseGame.getCurrentRound() + 1985));
-            } else {
-                contentPanel.addComponent(new Label("CZEKANIE NA GRACZY."));
+        /**
+         * Waiting menu showing a received game
+         *
+         * @param receiveToRender timer of the time until the game is painted, not timed if null
+         * @param receivedAt      System.nanoTime() of receiving the game
+         */
+        public void waitingMenu(Timer receiveToRender, long receivedAt) {
+            // Components are added only when entering the menu, later they are just updated
+            boolean entered = !contentPanel.containsComponent(waitingScreen.getPanel());
+            if (entered) {
+                contentPanel.removeAllComponents();
+                contentPanel.setLayoutManager(new GridLayout(1));
+                window.setTheme(Themes.WAITING);
+                contentPanel.addComponent(waitingScreen.getPanel());
             }
-            contentPanel.addComponent(new EmptySpace());
-
-            Panel playersPanel = new Panel(new GridLayout(2));
-            contentPanel.addComponent(playersPanel);
-
-            for (int i = 0; i < baseGame.getPlayersAmount(); i++) {
-                playersPanel.addComponent(new Label(String.valueOf(i + 1)));
-
-                String playerName = "...";
-                try {
-                    playerName = baseGame.getPlayers().get(i).getName();
-                } catch (IndexOutOfBoundsException ignored) {
-                }
 
-                Label playerLabel = new Label(playerName);
-
-                if (baseGame.getGameStatus() == GameStatus.IN_PROGRESS) {
-                    if (baseGame.getCurrentPlayerTurn() == i) {
-                        playerLabel.setTheme(new SimpleTheme(TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN));
-                    }
-                }
+            // Redraw only if anything has changed, a game which changes nothing is not timed
+            boolean changed = waitingScreen.update(baseGame);
+            if (!entered && !changed) {
+                return;
+            }
 
-                playersPanel.addComponent(playerLabel);
+            if (receiveToRender != null) {
+                renderScheduler.requestRender(receiveToRender, receivedAt);
+            } else {
+                renderScheduler.requestRender();
             }
+        }
 
-            playersPanel.addComponent(new EmptySpace());
+        /**
+         * Inform player that request is being sent
+         */
+        public void sendingInfo() {
+            contentPanel.removeAllComponents();
+            contentPanel.addComponent(new EmptySpace());
+            contentPanel.addComponent(new Label(lang.get(LangKey.SENDING)));
 
-            try {
-                gui.updateScreen();
-            } catch (Exception e) {
-                log.error(e.getMessage(), e);
-            }
+            renderScheduler.requestRender();
         }
 
         /**
@@ -1433,20 +1733,12 @@ public class Game {
         public void oelLogo() throws InterruptedException {
             // Prepare new graphical settings
             contentPanel.setLayoutManager(new GridLayout(1));
-            window.setTheme(
-                    SimpleTheme.makeTheme(
-                            false,
-                            TextColor.ANSI.BLUE_BRIGHT, TextColor.ANSI.RED,
-                            TextColor.ANSI.RED, TextColor.ANSI.BLUE_BRIGHT,
-                            TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN,
-                            TextColor.ANSI.RED));
+            window.setTheme(Themes.INTRO);
 
             Game.timeBuffor();
             try {
                 // Get OEL logo ASCII art
-                InputStream oelLogoFileStream =
-                        Application.class.getClassLoader().getResourceAsStream("arts/oel.json");
-                contentPanel.addComponent(new ArtObject(Objects.requireNonNull(oelLogoFileStream)).getImageComponent());
+                contentPanel.addComponent(artCache.getImageComponent("oel"));
             } catch (Exception e) {
                 log.error("Error during logo reading: {}", e.getMessage(), e);
                 contentPanel.addComponent(new Label("OEL"));
@@ -1473,6 +1765,7 @@ public class Game {
         DRILLS_INDUSTRIES, PUMPS_INDUSTRIES, CARS_INDUSTRIES, OILFIELDS,
         DRILLS, PUMPS, CARS,
         SABOTAGE, CHANGE_PRICES,
+        BUY_AGAIN,
         MAIN_MENU,
         PASS,
         SUCCESS
@@ -0,0 +1,47 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Copies of games and their parts, so games already handed out are never changed in place.
+ */
+public class GameCopies {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Deep copy, nothing is shared with the original
+    @SuppressWarnings("unchecked")
+    public static <T> T deep(T object) {
+        return (T) OBJECT_MAPPER.convertValue(object, object.getClass());
+    }
+
+    // Copy of the object itself, its lists and nested objects are shared with the original
+    @SuppressWarnings("unchecked")
+    public static <T> T shallow(T object) {
+        try {
+            Constructor<?> constructor = object.getClass().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            T copy = (T) constructor.newInstance();
+
+            // Fields of the superclasses too, e.g. of AbstractIndustry
+            for (Class<?> type = object.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    field.set(copy, field.get(object));
+                }
+            }
+
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Couldn't copy " + object.getClass().getName(), e);
+        }
+    }
+}
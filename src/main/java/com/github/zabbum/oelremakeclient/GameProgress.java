@@ -0,0 +1,34 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelrlib.game.BaseGame;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updates of a single game, in the order they were made.
+ */
+public interface GameProgress extends AutoCloseable {
+    // Start receiving updates of the game, if not receiving yet
+    void connect(String gameId);
+
+    // Wait until the updates of the connected game are received, false if not confirmed in time
+    boolean awaitSubscribed(long timeout, TimeUnit unit) throws InterruptedException;
+
+    // Called as soon as an update arrives, before it is taken
+    void setUpdateListener(Runnable updateListener);
+
+    // Wait for the next game update
+    BaseGame take() throws InterruptedException;
+
+    // Next game update if it has already arrived, null otherwise
+    BaseGame poll();
+
+    // Current game, waiting for it only shortly, null if it isn't known in time
+    BaseGame fetch() throws InterruptedException;
+
+    // System.nanoTime() of receiving the last taken update
+    long getLastReceivedAt();
+
+    @Override
+    void close();
+}
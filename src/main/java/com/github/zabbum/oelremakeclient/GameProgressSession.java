@@ -0,0 +1,129 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelremakeclient.stomp.StompClient;
+import com.github.zabbum.oelremakeclient.stomp.StompSession;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One STOMP session per game, shared by all the turns.
+ * Every game progress message ends up in a single game state store.
+ */
+@Slf4j
+public class GameProgressSession implements GameProgress {
+    private static final long HEARTBEAT_INTERVAL = 10000;
+    // Updates are broadcast at once after every change, so the last one comes shortly if at all
+    private static final long FETCH_WAIT_MILLIS = 1000;
+    // Shared by all the sessions, e.g. of many bots in one JVM
+    private static final StompClient STOMP_CLIENT = new StompClient(HEARTBEAT_INTERVAL);
+
+    private final String wsEndpointUrl;
+    private final GameStateStore gameStateStore = new GameStateStore();
+    private final ReentrantLock lock = new ReentrantLock();
+    private CompletableFuture<StompSession> sessionFuture;
+    private WaitStompSessionHandler handler;
+
+    public GameProgressSession(String wsEndpointUrl) {
+        this.wsEndpointUrl = wsEndpointUrl;
+    }
+
+    // Connect and subscribe to progress of the game, if not connected yet
+    @Override
+    public void connect(String gameId) {
+        lock.lock();
+        try {
+            if (sessionFuture != null) {
+                return;
+            }
+
+            handler = new WaitStompSessionHandler(gameStateStore, gameId);
+            sessionFuture = STOMP_CLIENT.connectAsync(wsEndpointUrl, handler);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Servers which don't send receipts are waited for until the timeout
+    @Override
+    public boolean awaitSubscribed(long timeout, TimeUnit unit) throws InterruptedException {
+        WaitStompSessionHandler connectedHandler;
+        lock.lock();
+        try {
+            connectedHandler = handler;
+        } finally {
+            lock.unlock();
+        }
+        if (connectedHandler == null) {
+            return false;
+        }
+
+        try {
+            connectedHandler.getSubscribed().get(timeout, unit);
+            return true;
+        } catch (ExecutionException e) {
+            log.warn("Couldn't subscribe to the game: {}", e.getCause().getMessage());
+            return false;
+        } catch (TimeoutException e) {
+            log.warn("Subscription to the game not confirmed in {} ms.", unit.toMillis(timeout));
+            return false;
+        }
+    }
+
+    // Called as soon as an update arrives, before it is taken
+    @Override
+    public void setUpdateListener(Runnable updateListener) {
+        gameStateStore.setUpdateListener(updateListener);
+    }
+
+    // Wait for the next game update
+    @Override
+    public BaseGame take() throws InterruptedException {
+        return gameStateStore.take();
+    }
+
+    // Next game update if it has already arrived, null otherwise
+    @Override
+    public BaseGame poll() {
+        return gameStateStore.poll();
+    }
+
+    // Server can't be asked for the game over STOMP, so the last update it has sent is taken
+    @Override
+    public BaseGame fetch() throws InterruptedException {
+        return gameStateStore.pollLatest(FETCH_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // System.nanoTime() of receiving the last taken update
+    @Override
+    public long getLastReceivedAt() {
+        return gameStateStore.getLastReceivedAt();
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (sessionFuture != null) {
+                // Disconnect only if the session has been established
+                if (sessionFuture.isDone() && !sessionFuture.isCompletedExceptionally()) {
+                    sessionFuture.join().disconnect();
+                } else {
+                    // Disconnect as soon as the pending connection is established
+                    sessionFuture.thenAccept(StompSession::disconnect);
+                }
+                sessionFuture = null;
+                handler = null;
+            }
+
+            log.info("Disconnected");
+        } finally {
+            lock.unlock();
+        }
+    }
+}
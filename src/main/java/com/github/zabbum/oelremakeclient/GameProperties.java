@@ -5,11 +5,9 @@ import com.googlecode.lanterna.gui2.SeparateTextGUIThread;
 import com.googlecode.lanterna.gui2.Window;
 import lombok.Data;
 
-import java.util.Map;
-
 @Data
 public class GameProperties {
-    private Map<String, String> langMap;
+    private LangBundle lang;
     private SeparateTextGUIThread textGUIThread;
     private Thread mainThread;
     private Window window;
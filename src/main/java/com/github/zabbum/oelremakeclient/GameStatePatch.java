@@ -0,0 +1,25 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Incremental game progress message.
+ * Sent with "oel-update: patch" header and applied on top of the game with baseVersion.
+ * Every map contains only changed objects, keyed by their index in the game lists.
+ * <p>
+ * Inactive until the server supports it, the server sends only full games now. See WaitStompSessionHandler.
+ */
+@Data
+public class GameStatePatch {
+    private Long baseVersion;
+    private Long version;
+    private ObjectNode game;
+    private Map<Integer, ObjectNode> players;
+    private Map<Integer, ObjectNode> oilfields;
+    private Map<Integer, ObjectNode> drillsIndustries;
+    private Map<Integer, ObjectNode> pumpsIndustries;
+    private Map<Integer, ObjectNode> carsIndustries;
+}
@@ -0,0 +1,214 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.zabbum.oelrlib.Player;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.plants.industries.CarsIndustry;
+import com.github.zabbum.oelrlib.plants.industries.DrillsIndustry;
+import com.github.zabbum.oelrlib.plants.industries.PumpsIndustry;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local copy of the game, kept up to date with full snapshots and patches.
+ * Updates are queued by the STOMP thread and applied by the thread that takes them.
+ * Every update results in a new game, games already taken are never changed.
+ * <p>
+ * Patches and versions are applied only if the server sends them, see WaitStompSessionHandler.
+ * Until then every update is a full snapshot without a version.
+ */
+@Slf4j
+public class GameStateStore {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final BlockingQueue<Update> updates = new LinkedBlockingQueue<>();
+    // Called when a patch can't be applied and full snapshot is needed
+    @Setter
+    private Runnable snapshotRequest = () -> {
+    };
+    // Called by the STOMP thread when any update arrives
+    @Setter
+    private Runnable updateListener = () -> {
+    };
+    private BaseGame baseGame;
+    private Long version;
+    private boolean waitingForSnapshot = false;
+    // System.nanoTime() of receiving the update of the last taken game
+    @Getter
+    private long lastReceivedAt;
+
+    public void putSnapshot(BaseGame baseGame, Long version) throws InterruptedException {
+        updateListener.run();
+        updates.put(new Update(baseGame, null, version, System.nanoTime()));
+    }
+
+    public void putPatch(GameStatePatch patch) throws InterruptedException {
+        updateListener.run();
+        updates.put(new Update(null, patch, patch.getVersion(), System.nanoTime()));
+    }
+
+    // Wait for the next update and return the game with the update applied
+    public BaseGame take() throws InterruptedException {
+        while (true) {
+            Update update = updates.take();
+            if (apply(update)) {
+                lastReceivedAt = update.receivedAt();
+                return baseGame;
+            }
+        }
+    }
+
+    // Return the game with the next update applied, or null if no update is waiting
+    public BaseGame poll() {
+        Update update;
+        while ((update = updates.poll()) != null) {
+            if (apply(update)) {
+                lastReceivedAt = update.receivedAt();
+                return baseGame;
+            }
+        }
+
+        return null;
+    }
+
+    // Wait for an update and return the game with all received updates applied, null if none arrives in time
+    public BaseGame pollLatest(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        BaseGame latest = null;
+        Update update;
+        while (latest == null
+                && (update = updates.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) != null) {
+            if (apply(update)) {
+                lastReceivedAt = update.receivedAt();
+                latest = baseGame;
+            }
+        }
+
+        // Updates which arrived together with it are newer
+        BaseGame next;
+        while ((next = poll()) != null) {
+            latest = next;
+        }
+        return latest;
+    }
+
+    // Ask for a full game and wait for it, null if it doesn't arrive in time
+    public BaseGame fetchSnapshot(long timeout, TimeUnit unit) throws InterruptedException {
+        // Updates received until now are older than the requested game
+        while (poll() != null) {
+        }
+        requestSnapshot();
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (waitingForSnapshot) {
+            Update update = updates.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (update == null) {
+                // Patches are applied again, as long as they match the local version
+                waitingForSnapshot = false;
+                return null;
+            }
+
+            if (apply(update)) {
+                lastReceivedAt = update.receivedAt();
+            }
+        }
+
+        return baseGame;
+    }
+
+    private boolean apply(Update update) {
+        // Full snapshot always replaces the local game
+        if (update.snapshot() != null) {
+            baseGame = update.snapshot();
+            version = update.version();
+            waitingForSnapshot = false;
+            return true;
+        }
+
+        // Skip patches until the requested snapshot arrives
+        if (waitingForSnapshot) {
+            return false;
+        }
+
+        GameStatePatch patch = update.patch();
+        if (baseGame == null || version == null || !version.equals(patch.getBaseVersion())) {
+            log.warn("Patch for version {} doesn't match local version {}.", patch.getBaseVersion(), version);
+            requestSnapshot();
+            return false;
+        }
+
+        // Games taken before may still be read by the GUI, so the patch makes a new game
+        BaseGame patched;
+        try {
+            patched = applyPatch(baseGame, patch);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            log.warn("Couldn't apply patch: {}", e.getMessage());
+            requestSnapshot();
+            return false;
+        }
+
+        baseGame = patched;
+        version = patch.getVersion();
+        return true;
+    }
+
+    // Only the changed objects and the lists holding them are copied, the rest is shared with the previous game
+    private static BaseGame applyPatch(BaseGame baseGame, GameStatePatch patch) throws IOException {
+        BaseGame patched = GameCopies.shallow(baseGame);
+        if (patch.getGame() != null) {
+            // Lists sent in the patch are read as new ones, not merged into the shared ones
+            OBJECT_MAPPER.readerForUpdating(patched).readValue(patch.getGame());
+        }
+
+        patched.setPlayers(applyToList(patched.getPlayers(), patch.getPlayers(), Player.class));
+        patched.setOilfields(applyToList(patched.getOilfields(), patch.getOilfields(), Oilfield.class));
+        patched.setDrillsIndustries(
+                applyToList(patched.getDrillsIndustries(), patch.getDrillsIndustries(), DrillsIndustry.class));
+        patched.setPumpsIndustries(
+                applyToList(patched.getPumpsIndustries(), patch.getPumpsIndustries(), PumpsIndustry.class));
+        patched.setCarsIndustries(
+                applyToList(patched.getCarsIndustries(), patch.getCarsIndustries(), CarsIndustry.class));
+        return patched;
+    }
+
+    // New list with patched copies of the changed objects, objects added at the end are new, e.g. joined players
+    private static <T> List<T> applyToList(List<T> objects, Map<Integer, ObjectNode> changes, Class<T> type)
+            throws IOException {
+        if (changes == null) {
+            return objects;
+        }
+
+        List<T> patched = new ArrayList<>(objects);
+        for (Map.Entry<Integer, ObjectNode> change : new TreeMap<>(changes).entrySet()) {
+            if (change.getKey() == patched.size()) {
+                patched.add(OBJECT_MAPPER.treeToValue(change.getValue(), type));
+            } else {
+                T object = GameCopies.shallow(patched.get(change.getKey()));
+                patched.set(change.getKey(), OBJECT_MAPPER.readerForUpdating(object).readValue(change.getValue()));
+            }
+        }
+        return patched;
+    }
+
+    private void requestSnapshot() {
+        waitingForSnapshot = true;
+        snapshotRequest.run();
+    }
+
+    private record Update(BaseGame snapshot, GameStatePatch patch, Long version, long receivedAt) {
+    }
+}
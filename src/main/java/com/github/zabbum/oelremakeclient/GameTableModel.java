@@ -0,0 +1,188 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.googlecode.lanterna.TerminalSize;
+import com.googlecode.lanterna.gui2.TextGUIGraphics;
+import com.googlecode.lanterna.gui2.table.DefaultTableCellRenderer;
+import com.googlecode.lanterna.gui2.table.Table;
+import com.googlecode.lanterna.gui2.table.TableModel;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only table model backed directly by a list of the game.
+ * Cells hold indexes into the list and are formatted only when they are drawn.
+ * First row is always "0", which means going back without choosing anything.
+ */
+public class GameTableModel<T> extends TableModel<Integer> {
+    // Same height as the whole oilfields table of the standard board, longer tables scroll
+    private static final int MAX_VISIBLE_ROWS = 13;
+    private static final Integer BACK = -1;
+
+    private final List<? extends T> objects;
+    private final int[] indexes;
+    private final List<Column<T>> columns;
+    private final TerminalSize[] cellSizes;
+    private final List<List<Integer>> rows = new Rows();
+
+    /**
+     * Column of the table, width is measured without formatting the cells.
+     */
+    public record Column<T>(String label, Function<? super T, String> formatter, ToIntFunction<? super T> width) {
+        // Column of text the objects already hold, e.g. names
+        public static <T> Column<T> text(String label, Function<? super T, String> text) {
+            return new Column<>(label, text, object -> text.apply(object).length());
+        }
+
+        // Column of numbers followed by the suffix, e.g. prices in dollars
+        public static <T> Column<T> number(String label, ToIntFunction<? super T> number, String suffix) {
+            return new Column<>(
+                    label,
+                    object -> number.applyAsInt(object) + suffix,
+                    object -> digits(number.applyAsInt(object)) + suffix.length());
+        }
+    }
+
+    private GameTableModel(String indexLabel, List<? extends T> objects, int[] indexes, List<Column<T>> columns) {
+        super(labels(indexLabel, columns));
+        this.objects = objects;
+        this.indexes = indexes;
+        this.columns = columns;
+
+        // Widths are measured once, so the layout doesn't format every row
+        cellSizes = new TerminalSize[columns.size() + 1];
+        int maxNumber = indexes.length == 0 ? 0 : IntStream.of(indexes).max().getAsInt() + 1;
+        cellSizes[0] = new TerminalSize(digits(maxNumber), 1);
+        for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+            int width = 1;
+            for (int index : indexes) {
+                width = Math.max(width, columns.get(columnIndex).width().applyAsInt(objects.get(index)));
+            }
+            cellSizes[columnIndex + 1] = new TerminalSize(width, 1);
+        }
+    }
+
+    // Table of the objects with the given indexes
+    @SafeVarargs
+    public static <T> GameTableModel<T> of(
+            String indexLabel, List<? extends T> objects, int[] indexes, Column<T>... columns) {
+        return new GameTableModel<>(indexLabel, objects, indexes, List.of(columns));
+    }
+
+    // Table of all the objects
+    @SafeVarargs
+    public static <T> GameTableModel<T> of(String indexLabel, List<? extends T> objects, Column<T>... columns) {
+        return of(indexLabel, objects, IntStream.range(0, objects.size()).toArray(), columns);
+    }
+
+    // Create table showing this model
+    public Table<Integer> createTable() {
+        Table<Integer> table = new Table<>(getColumnLabels().toArray(new String[0]));
+        table.setTableModel(this);
+        table.setTableCellRenderer(new CellRenderer());
+        table.setVisibleRows(Math.min(getRowCount(), MAX_VISIBLE_ROWS));
+        return table;
+    }
+
+    // Index in the list of the object in the row, -1 for the first row
+    public int getIndex(int row) {
+        return row == 0 ? BACK : indexes[row - 1];
+    }
+
+    // Object in the row, null for the first row
+    public T getObject(int row) {
+        return row == 0 ? null : objects.get(indexes[row - 1]);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return cellSizes.length;
+    }
+
+    @Override
+    public int getRowCount() {
+        return indexes.length + 1;
+    }
+
+    @Override
+    public List<List<Integer>> getRows() {
+        return rows;
+    }
+
+    @Override
+    public List<Integer> getRow(int row) {
+        return rows.get(row);
+    }
+
+    @Override
+    public Integer getCell(int columnIndex, int rowIndex) {
+        return getIndex(rowIndex);
+    }
+
+    // Width of the number as text, counted without formatting it
+    static int digits(long number) {
+        int digits = number < 0 ? 2 : 1;
+        for (long rest = Math.abs(number / 10); rest > 0; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static String[] labels(String indexLabel, List<? extends Column<?>> columns) {
+        List<String> labels = new ArrayList<>();
+        labels.add(indexLabel);
+        columns.forEach(column -> labels.add(column.label()));
+        return labels.toArray(new String[0]);
+    }
+
+    // Rows are created on access, every cell of a row is the index of its object
+    private class Rows extends AbstractList<List<Integer>> {
+        @Override
+        public List<Integer> get(int row) {
+            Integer index = getIndex(row);
+            return new AbstractList<>() {
+                @Override
+                public Integer get(int columnIndex) {
+                    return index;
+                }
+
+                @Override
+                public int size() {
+                    return getColumnCount();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return getRowCount();
+        }
+    }
+
+    private class CellRenderer extends DefaultTableCellRenderer<Integer> {
+        @Override
+        public TerminalSize getPreferredSize(Table<Integer> table, Integer cell, int columnIndex, int rowIndex) {
+            return cellSizes[columnIndex];
+        }
+
+        @Override
+        protected void render(Table<Integer> table, Integer cell, int columnIndex, int rowIndex,
+                              boolean isSelected, TextGUIGraphics textGUIGraphics) {
+            textGUIGraphics.putString(0, 0, format(cell, columnIndex));
+        }
+
+        private String format(int index, int columnIndex) {
+            if (columnIndex == 0) {
+                return String.valueOf(index + 1);
+            }
+            if (index == BACK) {
+                return "-";
+            }
+            return columns.get(columnIndex - 1).formatter().apply(objects.get(index));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.requests.OelRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where requests of the game are sent, the server or a local game engine.
+ */
+public interface GameTransport {
+    BaseGame oelRequest(OelRequest oelRequest);
+
+    // Send request without blocking the calling thread
+    CompletableFuture<BaseGame> oelRequestAsync(OelRequest oelRequest);
+
+    // Whether many purchases can be made in one turn, otherwise every purchase ends the turn
+    default boolean isBatchSupported() {
+        return true;
+    }
+
+    // New session receiving progress of games of this transport
+    GameProgress createProgress();
+}
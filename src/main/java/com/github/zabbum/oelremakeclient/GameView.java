@@ -0,0 +1,122 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.plants.industries.AbstractIndustry;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Indexes of a received game, built once per game update, so screens don't scan the whole lists.
+ * Every index points into the corresponding list of the game.
+ */
+public class GameView {
+    private static final int[] NONE = new int[0];
+
+    private final int[][] ownedOilfields;
+    private final int[] unboughtOilfields;
+    private final int[][] unboughtIndustries = new int[IndustryType.values().length][];
+    private final int[][] industriesWithStock = new int[IndustryType.values().length][];
+
+    public enum IndustryType {
+        DRILLS,
+        PUMPS,
+        CARS;
+
+        public List<? extends AbstractIndustry> of(BaseGame baseGame) {
+            return switch (this) {
+                case DRILLS -> baseGame.getDrillsIndustries();
+                case PUMPS -> baseGame.getPumpsIndustries();
+                case CARS -> baseGame.getCarsIndustries();
+            };
+        }
+    }
+
+    private GameView(BaseGame baseGame) {
+        List<Oilfield> oilfields = baseGame.getOilfields();
+        ownedOilfields = groupByOwner(oilfields, baseGame.getPlayers().size());
+        unboughtOilfields = indexesOf(oilfields, oilfield -> !oilfield.isBought());
+
+        for (IndustryType industryType : IndustryType.values()) {
+            List<? extends AbstractIndustry> industries = industryType.of(baseGame);
+            unboughtIndustries[industryType.ordinal()] = indexesOf(industries, industry -> !industry.isBought());
+            industriesWithStock[industryType.ordinal()] = indexesOf(
+                    industries, industry -> industry.isBought() && industry.getProductsAmount() != 0);
+        }
+    }
+
+    public static GameView of(BaseGame baseGame) {
+        return new GameView(baseGame);
+    }
+
+    // Indexes of oilfields owned by the player
+    public int[] getOwnedOilfields(int playerId) {
+        if (playerId < 0 || playerId >= ownedOilfields.length) {
+            return NONE;
+        }
+        return ownedOilfields[playerId];
+    }
+
+    public int[] getUnboughtOilfields() {
+        return unboughtOilfields;
+    }
+
+    public int[] getUnboughtIndustries(IndustryType industryType) {
+        return unboughtIndustries[industryType.ordinal()];
+    }
+
+    // Indexes of bought industries which still have products to sell
+    public int[] getIndustriesWithStock(IndustryType industryType) {
+        return industriesWithStock[industryType.ordinal()];
+    }
+
+    // Oilfield indexes of every player, counted first so each array is allocated once
+    private static int[][] groupByOwner(List<Oilfield> oilfields, int playersAmount) {
+        int[] counts = new int[playersAmount];
+        for (Oilfield oilfield : oilfields) {
+            int owner = ownerOf(oilfield, playersAmount);
+            if (owner >= 0) {
+                counts[owner]++;
+            }
+        }
+
+        int[][] owned = new int[playersAmount][];
+        for (int playerId = 0; playerId < playersAmount; playerId++) {
+            owned[playerId] = counts[playerId] == 0 ? NONE : new int[counts[playerId]];
+            counts[playerId] = 0;
+        }
+
+        for (int oilfieldIndex = 0; oilfieldIndex < oilfields.size(); oilfieldIndex++) {
+            int owner = ownerOf(oilfields.get(oilfieldIndex), playersAmount);
+            if (owner >= 0) {
+                owned[owner][counts[owner]++] = oilfieldIndex;
+            }
+        }
+
+        return owned;
+    }
+
+    // Id of the player owning the oilfield, -1 if it has no known owner
+    private static int ownerOf(Oilfield oilfield, int playersAmount) {
+        if (oilfield.getOwnership() == null || oilfield.getOwnership().getPlayerId() == null) {
+            return -1;
+        }
+
+        int playerId = oilfield.getOwnership().getPlayerId();
+        return playerId >= 0 && playerId < playersAmount ? playerId : -1;
+    }
+
+    private static <T> int[] indexesOf(List<T> objects, Predicate<? super T> predicate) {
+        int[] indexes = new int[objects.size()];
+        int size = 0;
+        for (int index = 0; index < objects.size(); index++) {
+            if (predicate.test(objects.get(index))) {
+                indexes[size++] = index;
+            }
+        }
+
+        return size == 0 ? NONE : Arrays.copyOf(indexes, size);
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.zabbum.oelremakeclient;
+
+/**
+ * Immutable language data with a value for every LangKey.
+ */
+public class LangBundle {
+    private final String[] values;
+
+    LangBundle(String[] values) {
+        this.values = values.clone();
+    }
+
+    public String get(LangKey key) {
+        return values[key.ordinal()];
+    }
+}
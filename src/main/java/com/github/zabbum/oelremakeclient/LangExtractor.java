@@ -1,29 +1,67 @@
 package com.github.zabbum.oelremakeclient;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
-@SuppressWarnings("unchecked")
+@Slf4j
 public class LangExtractor {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Map<String, LangKey> KEYS = new HashMap<>();
+
+    static {
+        for (LangKey key : LangKey.values()) {
+            KEYS.put(key.getKey(), key);
+        }
+    }
+
     // Get language data from the file
-    public static Map<String, String> getLangData(InputStream inputStream)
+    public static LangBundle getLangData(InputStream inputStream)
             throws IOException {
 
-        // Read data from json file
-        InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-        String json = new BufferedReader(reader).lines().collect(Collectors.joining("\n"));
+        String[] values = new String[LangKey.values().length];
+
+        // Read data straight from the stream
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Language file must contain a JSON object.");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+
+                LangKey key = KEYS.get(name);
+                if (key == null) {
+                    log.warn("Unknown language key: {}", name);
+                    parser.skipChildren();
+                    continue;
+                }
+
+                values[key.ordinal()] = parser.getValueAsString();
+            }
+        }
+
+        // Every key has to be translated
+        List<String> missingKeys = new ArrayList<>();
+        for (LangKey key : LangKey.values()) {
+            if (values[key.ordinal()] == null) {
+                missingKeys.add(key.getKey());
+            }
+        }
 
-        ObjectMapper objectMapper = new ObjectMapper();
+        if (!missingKeys.isEmpty()) {
+            throw new IOException("Missing language keys: " + missingKeys);
+        }
 
-        // Create and return Map object for all the data
-        return objectMapper.readValue(json, HashMap.class);
+        return new LangBundle(values);
     }
 }
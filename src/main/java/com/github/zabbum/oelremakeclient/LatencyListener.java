@@ -0,0 +1,12 @@
+package com.github.zabbum.oelremakeclient;
+
+/**
+ * Receives measured latencies, e.g. of the requests sent to the server.
+ */
+@FunctionalInterface
+public interface LatencyListener {
+    LatencyListener NONE = (name, nanos) -> {
+    };
+
+    void record(String name, long nanos);
+}
@@ -0,0 +1,22 @@
+package com.github.zabbum.oelremakeclient;
+
+import lombok.Getter;
+
+/**
+ * Request to the server failed, either with an error response or without any.
+ */
+@Getter
+public class OelRequestException extends RuntimeException {
+    // Status of the response, 0 if there was no response
+    private final int statusCode;
+
+    public OelRequestException(String path, int statusCode, String responseBody) {
+        super("Request to " + path + " failed with status " + statusCode + ": " + responseBody);
+        this.statusCode = statusCode;
+    }
+
+    public OelRequestException(String path, Throwable cause) {
+        super("Request to " + path + " failed: " + cause.getMessage(), cause);
+        this.statusCode = 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelrlib.Player;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.plants.industries.AbstractIndustry;
+import com.github.zabbum.oelrlib.plants.industries.CarsIndustry;
+import com.github.zabbum.oelrlib.plants.industries.DrillsIndustry;
+import com.github.zabbum.oelrlib.plants.industries.PumpsIndustry;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+import com.github.zabbum.oelrlib.requests.BuyIndustryRequest;
+import com.github.zabbum.oelrlib.requests.BuyOilfieldRequest;
+import com.github.zabbum.oelrlib.requests.BuyProductsRequest;
+import com.github.zabbum.oelrlib.requests.OelRequest;
+
+import java.util.List;
+
+/**
+ * What a purchase changes in the game: money, owners of the plants and products.
+ * Used by the local engine once a purchase is accepted, and by the client to show a purchase before the server does.
+ * Purchases are not checked here.
+ */
+public class PurchaseEffects {
+    public static void apply(BaseGame baseGame, OelRequest purchase) {
+        if (purchase instanceof BuyOilfieldRequest request) {
+            buyOilfield(baseGame, request);
+        } else if (purchase instanceof BuyIndustryRequest request) {
+            buyIndustry(baseGame, request);
+        } else if (purchase instanceof BuyProductsRequest request) {
+            buyProducts(baseGame, request);
+        } else {
+            throw new IllegalArgumentException("Not a purchase: " + purchase);
+        }
+    }
+
+    // Industries of the class sent in the requests, null if there are no such industries
+    public static List<? extends AbstractIndustry> getIndustries(BaseGame baseGame, String className) {
+        if (DrillsIndustry.class.getName().equals(className)) {
+            return baseGame.getDrillsIndustries();
+        }
+        if (PumpsIndustry.class.getName().equals(className)) {
+            return baseGame.getPumpsIndustries();
+        }
+        if (CarsIndustry.class.getName().equals(className)) {
+            return baseGame.getCarsIndustries();
+        }
+        return null;
+    }
+
+    private static void buyOilfield(BaseGame baseGame, BuyOilfieldRequest request) {
+        Player player = baseGame.getPlayers().get(request.getPlayerId());
+        Oilfield oilfield = baseGame.getOilfields().get(request.getOilfieldId());
+
+        addBalance(player, -oilfield.getPlantPrice());
+        oilfield.setBought(true);
+        oilfield.setOwnership(player);
+    }
+
+    private static void buyIndustry(BaseGame baseGame, BuyIndustryRequest request) {
+        Player player = baseGame.getPlayers().get(request.getPlayerId());
+        AbstractIndustry industry = getIndustries(baseGame, request.getIndustryClassName())
+                .get(request.getIndustryId());
+
+        addBalance(player, -industry.getPlantPrice());
+        industry.setBought(true);
+        industry.setOwnership(player);
+        industry.setProductPrice(request.getProductPrice());
+    }
+
+    private static void buyProducts(BaseGame baseGame, BuyProductsRequest request) {
+        Player player = baseGame.getPlayers().get(request.getPlayerId());
+        AbstractIndustry industry = getIndustries(baseGame, request.getIndustryClassName())
+                .get(request.getIndustryId());
+        Oilfield oilfield = baseGame.getOilfields().get(request.getOilfieldId());
+        int productAmount = request.getProductAmount();
+        int cost = productAmount * industry.getProductPrice();
+
+        // Money goes to the owner of the industry
+        addBalance(player, -cost);
+        addBalance(baseGame.getPlayers().get(industry.getOwnership().getPlayerId()), cost);
+        industry.setProductsAmount(industry.getProductsAmount() - productAmount);
+
+        if (industry instanceof DrillsIndustry) {
+            oilfield.setDrillsAmount(oilfield.getDrillsAmount() + productAmount);
+        } else if (industry instanceof PumpsIndustry) {
+            oilfield.setPumpsAmount(oilfield.getPumpsAmount() + productAmount);
+        } else {
+            oilfield.setCarsAmount(oilfield.getCarsAmount() + productAmount);
+        }
+    }
+
+    private static void addBalance(Player player, int amount) {
+        player.setBalance(player.getBalance() + amount);
+    }
+}
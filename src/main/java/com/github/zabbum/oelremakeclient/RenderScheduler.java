@@ -0,0 +1,94 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelremakeclient.metrics.Metrics;
+import com.github.zabbum.oelremakeclient.metrics.Timer;
+import com.googlecode.lanterna.gui2.TextGUI;
+import com.googlecode.lanterna.gui2.TextGUIThread;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Repaints the GUI at most maxFps times per second.
+ * Requests only mark the GUI as dirty, so a burst of them is painted as a single frame of the latest state.
+ */
+@Slf4j
+public class RenderScheduler {
+    private final TextGUI gui;
+    private final TextGUIThread textGUIThread;
+    private final long frameInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "render-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicBoolean frameScheduled = new AtomicBoolean(false);
+    // Timers of the changes waiting for a frame, recorded once the frame is painted
+    private final Queue<PendingTimer> pendingTimers = new ConcurrentLinkedQueue<>();
+    private volatile long lastFrameAt;
+
+    public RenderScheduler(TextGUI gui, TextGUIThread textGUIThread, int maxFps) {
+        if (maxFps <= 0) {
+            throw new IllegalArgumentException("Max FPS has to be positive: " + maxFps);
+        }
+
+        this.gui = gui;
+        this.textGUIThread = textGUIThread;
+        frameInterval = TimeUnit.SECONDS.toNanos(1) / maxFps;
+        lastFrameAt = System.nanoTime() - frameInterval;
+    }
+
+    // Mark the GUI as dirty, it is repainted with the next frame
+    public void requestRender() {
+        dirty.set(true);
+
+        // Only one frame is waiting at a time, later requests are painted with it
+        if (frameScheduled.compareAndSet(false, true)) {
+            long delay = Math.max(0, lastFrameAt + frameInterval - System.nanoTime());
+            scheduler.schedule(() -> textGUIThread.invokeLater(this::render), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Mark the GUI as dirty and record the time from the start until the next frame is painted
+    public void requestRender(Timer timer, long startNanos) {
+        pendingTimers.add(new PendingTimer(timer, startNanos));
+        requestRender();
+    }
+
+    // Paint the frame on the GUI thread
+    private void render() {
+        // Requests made from now on need another frame
+        frameScheduled.set(false);
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        // Changes requested until now are already in the components, so they are painted with this frame
+        int paintedTimers = pendingTimers.size();
+
+        long start = System.nanoTime();
+        lastFrameAt = start;
+        try {
+            gui.updateScreen();
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+        }
+        Metrics.timer("gui updateScreen").recordSince(start);
+        Metrics.counter("gui frames").increment();
+
+        for (int i = 0; i < paintedTimers; i++) {
+            PendingTimer pendingTimer = pendingTimers.poll();
+            pendingTimer.timer().recordSince(pendingTimer.startNanos());
+        }
+    }
+
+    private record PendingTimer(Timer timer, long startNanos) {
+    }
+}
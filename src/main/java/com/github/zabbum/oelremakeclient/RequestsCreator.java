@@ -1,29 +1,191 @@
 package com.github.zabbum.oelremakeclient;
 
+import com.github.zabbum.oelremakeclient.arguments.Arguments;
+import com.github.zabbum.oelremakeclient.metrics.Metrics;
+import com.github.zabbum.oelremakeclient.recording.SessionRecord;
+import com.github.zabbum.oelremakeclient.recording.SessionRecorder;
 import com.github.zabbum.oelrlib.game.BaseGame;
 import com.github.zabbum.oelrlib.requests.*;
-import lombok.AllArgsConstructor;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.web.client.RestTemplate;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
-@AllArgsConstructor
-public class RequestsCreator {
-    private String wsEndpointUrl;
-    private String httpEndPointUrl;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+@Slf4j
+public class RequestsCreator implements GameTransport {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final String BATCH_PATH = "/batch";
+
+    private final String wsEndpointUrl;
+    private final String httpEndPointUrl;
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final ExecutorService requestsExecutor = VirtualThreads.newExecutor("oel-request");
+    // Latency of every successful request, by path
+    @Setter
+    private LatencyListener latencyListener = LatencyListener.NONE;
+    // Set by the probe of warmUp(), cleared if the server refuses a batch later, one purchase per turn until then
+    @Getter
+    private volatile boolean batchSupported = false;
+
+    public RequestsCreator(String wsEndpointUrl, String httpEndPointUrl, Arguments arguments) {
+        this.wsEndpointUrl = wsEndpointUrl;
+        this.httpEndPointUrl = httpEndPointUrl;
+
+        // JDK client keeps connections alive and pools them between requests
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(arguments.getConnectTimeout()))
+                .executor(requestsExecutor)
+                .build();
+        readTimeout = Duration.ofMillis(arguments.getReadTimeout());
+    }
+
+    // Open a pooled connection to the server in the background and check if it accepts batches, before the first turn
+    public CompletableFuture<Void> warmUp() {
+        return CompletableFuture.runAsync(() -> {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(httpEndPointUrl + BATCH_PATH))
+                    .timeout(readTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                    .build();
+            try {
+                // Empty batch makes no purchase, any answer but a missing path means batches are accepted
+                int statusCode = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                batchSupported = statusCode != 404 && statusCode != 405;
+                log.info("Server accepts batches: {}", batchSupported);
+            } catch (IOException e) {
+                log.debug("Warm up failed: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, requestsExecutor);
+    }
+
+    @Override
     public BaseGame oelRequest(OelRequest oelRequest) {
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (oelRequest instanceof ActionBatch actionBatch) {
+            return sendBatch(actionBatch);
+        }
+
+        return send(getPath(oelRequest.getClass()), oelRequest);
+    }
+
+    // Batch is sent in one request if the server supports it, only its first purchase otherwise
+    private BaseGame sendBatch(ActionBatch actionBatch) {
+        if (batchSupported && actionBatch.size() > 1) {
+            try {
+                BaseGame response = send(BATCH_PATH, actionBatch);
+                actionBatch.setMade(actionBatch.size());
+                return response;
+            } catch (OelRequestException e) {
+                if (e.getStatusCode() != 404 && e.getStatusCode() != 405) {
+                    throw e;
+                }
+                log.info("Server doesn't accept batches, only one purchase is made per turn.");
+                batchSupported = false;
+            }
+        }
+
+        // Every purchase ends the turn on such a server, so the next ones would be refused
+        ActionBatch.Action action = actionBatch.getActions().get(0);
+        BaseGame response = send(action.path(), action.request());
+        actionBatch.setMade(1);
+        return response;
+    }
 
-        HttpEntity<OelRequest> entity = new HttpEntity<>(oelRequest, headers);
+    private BaseGame send(String path, OelRequest oelRequest) {
+        long start = System.nanoTime();
+        BaseGame response;
+        try {
+            response = post(path, oelRequest);
+        } catch (RuntimeException e) {
+            Metrics.counter("request errors " + path).increment();
+            throw e;
+        }
+
+        long duration = System.nanoTime() - start;
+        Metrics.timer("request " + path).record(duration);
+        latencyListener.record(path, duration);
+
+        return response;
+    }
+
+    // Post request as JSON and read the game from the response
+    private BaseGame post(String path, OelRequest oelRequest) {
+        try {
+            byte[] body = OBJECT_MAPPER.writeValueAsBytes(oelRequest);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(httpEndPointUrl + path))
+                    .timeout(readTimeout)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            SessionRecorder.record(SessionRecord.Type.REQUEST, path, body);
+
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                throw new OelRequestException(
+                        path, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+            }
+            SessionRecorder.record(SessionRecord.Type.RESPONSE, path, response.body());
+
+            if (response.body().length == 0) {
+                return null;
+            }
+            return OBJECT_MAPPER.readValue(response.body(), BaseGame.class);
+        } catch (IOException e) {
+            throw new OelRequestException(path, e);
+        } catch (InterruptedException e) {
+            // Request has been cancelled
+            Thread.currentThread().interrupt();
+            throw new OelRequestException(path, e);
+        }
+    }
+
+    // Send request without blocking the calling thread
+    @Override
+    public CompletableFuture<BaseGame> oelRequestAsync(OelRequest oelRequest) {
+        CompletableFuture<BaseGame> response = new CompletableFuture<>();
+
+        Future<?> task = requestsExecutor.submit(() -> {
+            try {
+                response.complete(oelRequest(oelRequest));
+            } catch (Exception e) {
+                response.completeExceptionally(e);
+            }
+        });
+
+        // Cancelling the response interrupts the request in progress
+        response.whenComplete((baseGame, e) -> {
+            if (response.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+
+        return response;
+    }
 
-        return restTemplate.postForObject(httpEndPointUrl + getPath(oelRequest.getClass()), entity, BaseGame.class);
+    // Progress of games of this server, over STOMP
+    @Override
+    public GameProgress createProgress() {
+        return new GameProgressSession(wsEndpointUrl);
     }
 
-    private String getPath(Class<? extends OelRequest> oelRequest) {
+    public static String getPath(Class<? extends OelRequest> oelRequest) {
         if (oelRequest.equals(StarterRequest.class))
             return "/start";
         if (oelRequest.equals(JoinRequest.class))
@@ -42,6 +204,8 @@ public class RequestsCreator {
             return "/pass";
         if (oelRequest.equals(SummaryRequest.class))
             return "/summary";
+        if (oelRequest.equals(ActionBatch.class))
+            return BATCH_PATH;
 
         throw new RuntimeException("No path for this tape of request: " + oelRequest);
     }
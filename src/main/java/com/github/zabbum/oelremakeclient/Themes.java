@@ -0,0 +1,64 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.SimpleTheme;
+import com.googlecode.lanterna.graphics.Theme;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.googlecode.lanterna.TextColor.ANSI.*;
+
+/**
+ * Registry of themes used in the game.
+ * Every color combination gets only one theme, shared by all the components.
+ */
+public class Themes {
+    private static final Map<List<TextColor>, Theme> THEMES = new ConcurrentHashMap<>();
+
+    // Menu palettes
+    public static final Theme INTRO = menu(
+            BLUE_BRIGHT, RED, RED, BLUE_BRIGHT, WHITE_BRIGHT, CYAN, RED);
+    public static final Theme WAITING = menu(
+            BLACK, WHITE_BRIGHT, WHITE_BRIGHT, BLACK, WHITE_BRIGHT, CYAN, WHITE_BRIGHT);
+    public static final Theme MAIN_MENU = menu(
+            WHITE_BRIGHT, MAGENTA, MAGENTA, WHITE_BRIGHT, WHITE_BRIGHT, CYAN, MAGENTA);
+    // Black buttons, not to make them different when selected
+    public static final Theme MAIN_MENU_BLACK_BUTTON = menu(
+            BLACK, MAGENTA, BLACK, WHITE_BRIGHT, WHITE_BRIGHT, CYAN, MAGENTA);
+    public static final Theme DRILLING = menu(
+            GREEN, WHITE_BRIGHT, WHITE_BRIGHT, GREEN, CYAN, BLUE_BRIGHT, WHITE_BRIGHT);
+    public static final Theme OILFIELD_MANAGEMENT = menu(
+            BLACK, YELLOW, YELLOW, BLACK, CYAN, BLUE_BRIGHT, YELLOW);
+    public static final Theme BUY_OILFIELD = menu(
+            BLACK, BLUE_BRIGHT, YELLOW_BRIGHT, BLUE, WHITE_BRIGHT, CYAN, BLUE_BRIGHT);
+
+    // Theme with all the colors, same as SimpleTheme.makeTheme() without bold selection
+    public static Theme menu(
+            TextColor baseForeground, TextColor baseBackground,
+            TextColor editableForeground, TextColor editableBackground,
+            TextColor selectedForeground, TextColor selectedBackground,
+            TextColor guiBackground) {
+
+        return THEMES.computeIfAbsent(
+                List.of(
+                        baseForeground, baseBackground,
+                        editableForeground, editableBackground,
+                        selectedForeground, selectedBackground,
+                        guiBackground),
+                key -> SimpleTheme.makeTheme(
+                        false,
+                        baseForeground, baseBackground,
+                        editableForeground, editableBackground,
+                        selectedForeground, selectedBackground,
+                        guiBackground));
+    }
+
+    // Theme with only foreground and background, same as new SimpleTheme()
+    public static Theme of(TextColor foreground, TextColor background) {
+        return THEMES.computeIfAbsent(
+                List.of(foreground, background),
+                key -> new SimpleTheme(foreground, background));
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.zabbum.oelremakeclient;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads of the client are virtual, blocking on the network or on the player doesn't hold a platform thread.
+ */
+public class VirtualThreads {
+    // Factory of virtual threads named prefix-0, prefix-1...
+    public static ThreadFactory factory(String prefix) {
+        return Thread.ofVirtual().name(prefix + "-", 0).factory();
+    }
+
+    // Executor running every task on a new virtual thread
+    public static ExecutorService newExecutor(String prefix) {
+        return Executors.newThreadPerTaskExecutor(factory(prefix));
+    }
+
+    public static Thread start(String name, Runnable task) {
+        return Thread.ofVirtual().name(name).start(task);
+    }
+}
@@ -1,58 +1,125 @@
 package com.github.zabbum.oelremakeclient;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.zabbum.oelremakeclient.recording.SessionRecord;
+import com.github.zabbum.oelremakeclient.recording.SessionRecorder;
+import com.github.zabbum.oelremakeclient.stomp.StompFrame;
+import com.github.zabbum.oelremakeclient.stomp.StompSession;
+import com.github.zabbum.oelremakeclient.stomp.StompSessionHandler;
 import com.github.zabbum.oelrlib.game.BaseGame;
-import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.stomp.*;
 
-import java.lang.reflect.Type;
-import java.util.concurrent.BlockingQueue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Receives progress of one game and puts it into the game state store.
+ * <p>
+ * Server side contract of patches, not supported by the server yet, so the patch path is inactive:
+ * <ul>
+ *     <li>"oel-accept-patches: true" header of SUBSCRIBE, the client can apply patches</li>
+ *     <li>"oel-update: patch" header of MESSAGE, body is a GameStatePatch instead of a full game</li>
+ *     <li>"oel-version" header of MESSAGE, version of the game after the update</li>
+ *     <li>"/app/game-progress/{gameId}/snapshot" destination, server answers with a full game</li>
+ * </ul>
+ * Server ignores the subscribe header and sends full games without these headers, which are handled as snapshots.
+ */
 @Slf4j
-@AllArgsConstructor
 public class WaitStompSessionHandler implements StompSessionHandler {
-    private BlockingQueue<BaseGame> gamesQueue;
-    private BaseGame baseGame;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final String UPDATE_HEADER = "oel-update";
+    private static final String VERSION_HEADER = "oel-version";
+
+    private final GameStateStore gameStateStore;
+    private final String gameId;
+    // Completed once the server has confirmed the subscription, no update is missed after that
+    @Getter
+    private final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+    private StompSession session;
+
+    public WaitStompSessionHandler(GameStateStore gameStateStore, String gameId) {
+        this.gameStateStore = gameStateStore;
+        this.gameId = gameId;
+        gameStateStore.setSnapshotRequest(this::requestSnapshot);
+    }
 
     @Override
-    public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+    public void afterConnected(StompSession session, StompFrame connectedFrame) {
         log.info("Connected");
-        session.subscribe("/topic/game-progress/" + baseGame.getGameId(), new StompFrameHandler() {
-            @Override
-            public Type getPayloadType(StompHeaders headers) {
-                return BaseGame.class;
-            }
+        this.session = session;
 
-            @Override
-            public void handleFrame(StompHeaders headers, Object payload) {
-                log.info("Received: {}", payload);
-                try {
-                    gamesQueue.put((BaseGame)payload);
-                }
-                catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        });
+        // Let the server know patches can be sent instead of full games
+        session.subscribeWithReceipt(
+                        "/topic/game-progress/" + gameId,
+                        Map.of("oel-accept-patches", "true"),
+                        this::handleFrame)
+                .whenComplete((receipt, e) -> {
+                    if (e != null) {
+                        subscribed.completeExceptionally(e);
+                    } else {
+                        subscribed.complete(null);
+                    }
+                });
     }
 
-    @Override
-    public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload, Throwable exception) {
+    private void handleFrame(StompFrame frame) {
+        try {
+            if (isPatch(frame)) {
+                SessionRecorder.record(SessionRecord.Type.PATCH, "", frame.body());
+                GameStatePatch patch = OBJECT_MAPPER.readValue(frame.body(), GameStatePatch.class);
+                log.info("Received: {}", patch);
+                gameStateStore.putPatch(patch);
+            } else {
+                String version = frame.header(VERSION_HEADER);
+                SessionRecorder.record(SessionRecord.Type.SNAPSHOT, version == null ? "" : version, frame.body());
+                BaseGame baseGame = OBJECT_MAPPER.readValue(frame.body(), BaseGame.class);
+                log.info("Received: {}", baseGame);
+                gameStateStore.putSnapshot(baseGame, getVersion(frame));
+            }
+        }
+        catch (IOException e) {
+            log.error("Couldn't read game progress message: {}", e.getMessage(), e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    // Ask server for a full game, when a patch can't be applied
+    private void requestSnapshot() {
+        if (session != null && session.isConnected()) {
+            session.send(
+                    "/app/game-progress/" + gameId + "/snapshot",
+                    "application/json",
+                    "\"\"".getBytes(StandardCharsets.UTF_8));
+        }
     }
 
-    @Override
-    public void handleTransportError(StompSession session, Throwable exception) {
+    private static boolean isPatch(StompFrame frame) {
+        return "patch".equals(frame.header(UPDATE_HEADER));
+    }
 
+    private static Long getVersion(StompFrame frame) {
+        String version = frame.header(VERSION_HEADER);
+        if (version == null) {
+            return null;
+        }
+        return Long.valueOf(version);
     }
 
     @Override
-    public Type getPayloadType(StompHeaders headers) {
-        return null;
+    public void handleError(StompSession session, StompFrame errorFrame) {
+        log.error("Error frame received: {} {}", errorFrame.header("message"), errorFrame.bodyAsString());
     }
 
     @Override
-    public void handleFrame(StompHeaders headers, Object payload) {
-
+    public void handleTransportError(StompSession session, Throwable exception) {
+        log.error("Transport error: {}", exception.getMessage(), exception);
+        subscribed.completeExceptionally(exception);
     }
 }
@@ -0,0 +1,104 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.game.GameStatus;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.gui2.EmptySpace;
+import com.googlecode.lanterna.gui2.GridLayout;
+import com.googlecode.lanterna.gui2.Label;
+import com.googlecode.lanterna.gui2.Panel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Components of the waiting menu.
+ * They are created once and only the changed labels are updated with every game update.
+ */
+public class WaitingScreen {
+    @Getter
+    private final Panel panel = new Panel(new GridLayout(1));
+    private final Label gameIdLabel = new Label("");
+    private final Label statusLabel = new Label("");
+    private final Panel playersPanel = new Panel(new GridLayout(2));
+    private final List<Label> playerLabels = new ArrayList<>();
+    private int highlightedPlayer = -1;
+
+    public WaitingScreen() {
+        panel.addComponent(new EmptySpace());
+        panel.addComponent(gameIdLabel);
+        panel.addComponent(statusLabel);
+        panel.addComponent(new EmptySpace());
+        panel.addComponent(playersPanel);
+    }
+
+    // Update labels with the game, returns whether anything has changed
+    public boolean update(BaseGame baseGame) {
+        boolean changed = setText(gameIdLabel, "ID: " + baseGame.getGameId());
+
+        boolean inProgress = baseGame.getGameStatus() == GameStatus.IN_PROGRESS;
+        if (inProgress) {
+            changed |= setText(statusLabel, "CZEKANIE NA TURE.  ROK: " + (baseGame.getCurrentRound() + 1985));
+        } else {
+            changed |= setText(statusLabel, "CZEKANIE NA GRACZY.");
+        }
+
+        // Players amount is known from the start, so rows are created only once
+        if (playerLabels.size() != baseGame.getPlayersAmount()) {
+            createPlayerRows(baseGame.getPlayersAmount());
+            changed = true;
+        }
+
+        for (int i = 0; i < playerLabels.size(); i++) {
+            String playerName = "...";
+            if (i < baseGame.getPlayers().size()) {
+                playerName = baseGame.getPlayers().get(i).getName();
+            }
+
+            changed |= setText(playerLabels.get(i), playerName);
+        }
+
+        // Move highlight to the current player
+        int currentPlayer = inProgress ? baseGame.getCurrentPlayerTurn() : -1;
+        if (currentPlayer != highlightedPlayer) {
+            if (highlightedPlayer >= 0 && highlightedPlayer < playerLabels.size()) {
+                playerLabels.get(highlightedPlayer).setTheme(null);
+            }
+            if (currentPlayer >= 0 && currentPlayer < playerLabels.size()) {
+                playerLabels.get(currentPlayer).setTheme(Themes.of(TextColor.ANSI.WHITE_BRIGHT, TextColor.ANSI.CYAN));
+            }
+
+            highlightedPlayer = currentPlayer;
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    private void createPlayerRows(int playersAmount) {
+        playersPanel.removeAllComponents();
+        playerLabels.clear();
+        highlightedPlayer = -1;
+
+        for (int i = 0; i < playersAmount; i++) {
+            playersPanel.addComponent(new Label(String.valueOf(i + 1)));
+
+            Label playerLabel = new Label("...");
+            playerLabels.add(playerLabel);
+            playersPanel.addComponent(playerLabel);
+        }
+
+        playersPanel.addComponent(new EmptySpace());
+    }
+
+    // Change label text only if it is different
+    private static boolean setText(Label label, String text) {
+        if (text.equals(label.getText())) {
+            return false;
+        }
+
+        label.setText(text);
+        return true;
+    }
+}
@@ -12,4 +12,48 @@ public class Arguments {
     private String serverAddress = "localhost:8080";
     @Builder.Default
     private String lang = "pl-PL";
+    @Builder.Default
+    private Integer connectTimeout = 5000;
+    @Builder.Default
+    private Integer readTimeout = 30000;
+    // Terminal the game is displayed in, "swing" emulator window or "text" terminal of the console
+    @Builder.Default
+    private String terminal = "swing";
+    // GUI is repainted at most this many times per second
+    @Builder.Default
+    private Integer maxFps = 30;
+    // Hot-seat game of players sharing this terminal, without any server
+    @Builder.Default
+    private Boolean local = false;
+    @Builder.Default
+    private Boolean headless = false;
+    @Builder.Default
+    private String strategy = "pass";
+    @Builder.Default
+    private String playerName = "BOT";
+    @Builder.Default
+    private Integer playersAmount = 2;
+    @Builder.Default
+    private Boolean loadTest = false;
+    @Builder.Default
+    private Integer games = 1;
+    // File for metrics dumped on exit, not dumped if not provided
+    private String metricsFile;
+    // File the session is recorded to, not recorded if not provided
+    private String record;
+    // Recorded session played back instead of a game
+    private String replay;
+    // Replay keeps the recorded pauses, otherwise it is played at full speed
+    @Builder.Default
+    private Boolean replayRealTime = false;
+    // Game to join, new game is created if not provided
+    private String gameId;
+
+    public String getWsEndpointUrl() {
+        return "ws://" + serverAddress + "/base-game";
+    }
+
+    public String getHttpEndpointUrl() {
+        return "http://" + serverAddress + "/baseGame";
+    }
 }
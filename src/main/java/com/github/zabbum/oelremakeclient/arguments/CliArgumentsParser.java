@@ -24,6 +24,22 @@ public class CliArgumentsParser {
                     case "devmode" -> argumentsBuilder.devMode(true);
                     case "serverAddress" -> argumentsBuilder.serverAddress(value);
                     case "lang" -> argumentsBuilder.lang(value);
+                    case "connectTimeout" -> argumentsBuilder.connectTimeout(Integer.valueOf(value));
+                    case "readTimeout" -> argumentsBuilder.readTimeout(Integer.valueOf(value));
+                    case "terminal" -> argumentsBuilder.terminal(value);
+                    case "maxFps" -> argumentsBuilder.maxFps(Integer.valueOf(value));
+                    case "local" -> argumentsBuilder.local(true);
+                    case "headless" -> argumentsBuilder.headless(true);
+                    case "strategy" -> argumentsBuilder.strategy(value);
+                    case "playerName" -> argumentsBuilder.playerName(value);
+                    case "playersAmount" -> argumentsBuilder.playersAmount(Integer.valueOf(value));
+                    case "gameId" -> argumentsBuilder.gameId(value);
+                    case "loadTest" -> argumentsBuilder.loadTest(true);
+                    case "games" -> argumentsBuilder.games(Integer.valueOf(value));
+                    case "metricsFile" -> argumentsBuilder.metricsFile(value);
+                    case "record" -> argumentsBuilder.record(value);
+                    case "replay" -> argumentsBuilder.replay(value);
+                    case "replayRealTime" -> argumentsBuilder.replayRealTime(true);
                 }
             }
         }
@@ -0,0 +1,92 @@
+package com.github.zabbum.oelremakeclient.artloader;
+
+import com.googlecode.lanterna.gui2.ImageComponent;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of all the ASCII arts from resources.
+ * Every art is read only once, its image is shared by all the components.
+ */
+public class ArtCache {
+    public static final String[] ARTS = {"oel", "1986", "drill", "pumpjack", "truck"};
+
+    private final Map<String, CompletableFuture<ArtObject>> arts = new ConcurrentHashMap<>();
+
+    // Start loading arts in the background
+    public void preload(String... names) {
+        for (String name : names) {
+            load(name);
+        }
+    }
+
+    // Get art, wait for it if it is still loading
+    public ArtObject get(String name)
+            throws IOException,
+            ColorNotFoundException,
+            BadImageSizeProvidedException {
+
+        try {
+            return load(name).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException ioException)
+                throw ioException;
+            if (cause instanceof ColorNotFoundException colorNotFoundException)
+                throw colorNotFoundException;
+            if (cause instanceof BadImageSizeProvidedException badImageSizeProvidedException)
+                throw badImageSizeProvidedException;
+
+            throw e;
+        }
+    }
+
+    // New component, but with the shared image
+    public ImageComponent getImageComponent(String name)
+            throws IOException,
+            ColorNotFoundException,
+            BadImageSizeProvidedException {
+
+        return get(name).getImageComponent();
+    }
+
+    private CompletableFuture<ArtObject> load(String name) {
+        return arts.computeIfAbsent(name, artName -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(artName);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }));
+    }
+
+    // Prefer compiled art, JSON is used only when running without the compileArts task
+    private static ArtObject read(String name)
+            throws IOException,
+            ColorNotFoundException,
+            BadImageSizeProvidedException {
+
+        ClassLoader classLoader = ArtCache.class.getClassLoader();
+
+        try (InputStream inputStream = classLoader.getResourceAsStream("arts/" + name + ".art")) {
+            if (inputStream != null) {
+                return ArtObject.fromBinary(inputStream);
+            }
+        }
+
+        try (InputStream inputStream = classLoader.getResourceAsStream("arts/" + name + ".json")) {
+            if (inputStream == null) {
+                throw new FileNotFoundException("Art not found: " + name);
+            }
+
+            return new ArtObject(inputStream);
+        }
+    }
+}
@@ -10,15 +10,17 @@ import com.googlecode.lanterna.graphics.TextImage;
 import com.googlecode.lanterna.gui2.ImageComponent;
 import lombok.Data;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public @Data class ArtObject {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int BINARY_MAGIC = 0x4F454C41; // "OELA"
+    private static final byte BINARY_VERSION = 1;
+
     // Private variables
     private int width;
     private int height;
@@ -32,11 +34,7 @@ public @Data class ArtObject {
             ColorNotFoundException,
             BadImageSizeProvidedException {
 
-        InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-        String json = new BufferedReader(reader).lines().collect(Collectors.joining("\n"));
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        Art art = objectMapper.readValue(json, Art.class);
+        Art art = OBJECT_MAPPER.readValue(inputStream, Art.class);
 
         this.width = art.getWidth();
         this.height = art.getHeight();
@@ -46,6 +44,69 @@ public @Data class ArtObject {
         createTextImage(art);
     }
 
+    // Constructor for compiled art, see compileArts task in build.gradle.kts
+    private ArtObject(ByteBuffer buffer)
+            throws IOException,
+            ColorNotFoundException,
+            BadImageSizeProvidedException {
+
+        // Check header
+        if (buffer.getInt() != BINARY_MAGIC || buffer.get() != BINARY_VERSION) {
+            throw new IOException("Unsupported binary art format.");
+        }
+
+        // Read palette of all the colors used
+        TextColor[] palette = new TextColor[Byte.toUnsignedInt(buffer.get())];
+        for (int colorIndex = 0; colorIndex < palette.length; colorIndex++) {
+            byte[] colorName = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(colorName);
+            palette[colorIndex] = toTextColor(new String(colorName, StandardCharsets.US_ASCII));
+        }
+
+        this.width = Short.toUnsignedInt(buffer.getShort());
+        this.height = Short.toUnsignedInt(buffer.getShort());
+        this.defaultForegroundColor = palette[Byte.toUnsignedInt(buffer.get())];
+        this.defaultBackgroundColor = palette[Byte.toUnsignedInt(buffer.get())];
+
+        // Create canvas
+        textImage =
+                new BasicTextImage(
+                        new TerminalSize(width, height),
+                        new TextCharacter(' ', defaultForegroundColor, defaultBackgroundColor));
+
+        // Draw every run of the same characters
+        for (int rowIndex = 0; rowIndex < height; rowIndex++) {
+            int runsAmount = Short.toUnsignedInt(buffer.getShort());
+            int columnIndex = 0;
+
+            for (int runIndex = 0; runIndex < runsAmount; runIndex++) {
+                int length = Short.toUnsignedInt(buffer.getShort());
+                char currChar = buffer.getChar();
+                TextColor fColor = palette[Byte.toUnsignedInt(buffer.get())];
+                TextColor bColor = palette[Byte.toUnsignedInt(buffer.get())];
+
+                if (columnIndex + length > width) {
+                    throw new BadImageSizeProvidedException();
+                }
+
+                TextCharacter textCharacter = new TextCharacter(currChar, fColor, bColor);
+                for (int i = 0; i < length; i++) {
+                    textImage.setCharacterAt(columnIndex, rowIndex, textCharacter);
+                    columnIndex++;
+                }
+            }
+        }
+    }
+
+    // Read compiled art with a single read of the whole stream
+    public static ArtObject fromBinary(InputStream inputStream)
+            throws IOException,
+            ColorNotFoundException,
+            BadImageSizeProvidedException {
+
+        return new ArtObject(ByteBuffer.wrap(inputStream.readAllBytes()));
+    }
+
     public ImageComponent getImageComponent() {
         ImageComponent imageComponent = new ImageComponent();
         imageComponent.setTextImage(textImage);
@@ -123,13 +184,10 @@ public @Data class ArtObject {
 
     // Convert String to TextColor
     private static TextColor toTextColor(String textColorName) throws ColorNotFoundException {
-        TextColor[] colors = TextColor.ANSI.class.getEnumConstants();
-        for (TextColor color : colors) {
-            if (color.toString().equals(textColorName)) {
-                return color;
-            }
+        try {
+            return TextColor.ANSI.valueOf(textColorName);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ColorNotFoundException("Not found such a color: " + textColorName);
         }
-
-        throw new ColorNotFoundException("Not found such a color: " + textColorName);
     }
 }
@@ -0,0 +1,15 @@
+package com.github.zabbum.oelremakeclient.bot;
+
+/**
+ * Strategies available with the strategy argument.
+ */
+public class BotStrategies {
+
+    public static BotStrategy byName(String name) {
+        return switch (name) {
+            case "pass" -> new PassStrategy();
+            case "oilfieldBuyer" -> new OilfieldBuyerStrategy();
+            default -> throw new IllegalArgumentException("Unknown bot strategy: " + name);
+        };
+    }
+}
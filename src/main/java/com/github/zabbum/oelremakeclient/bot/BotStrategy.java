@@ -0,0 +1,36 @@
+package com.github.zabbum.oelremakeclient.bot;
+
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+import com.github.zabbum.oelrlib.requests.OelRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decisions of a bot player, used instead of the interactive menus.
+ */
+public interface BotStrategy {
+
+    // Request to send in the main menu, null to pass the turn
+    OelRequest mainMenu(BaseGame baseGame, int playerId);
+
+    // Amount of oil sold from every oilfield in the summary, by default as much as possible
+    default Map<Integer, Integer> summaryMenu(BaseGame baseGame, int playerId) {
+        Map<Integer, Integer> oilfieldsOilAmountSold = new HashMap<>();
+
+        for (Oilfield oilfield : baseGame.getOilfields()) {
+            if (oilfield.getOwnership() == null || !oilfield.getOwnership().getPlayerId().equals(playerId)) {
+                continue;
+            }
+
+            if (oilfield.isExploitable() && !oilfield.getShouldInfoPlayer()) {
+                oilfieldsOilAmountSold.put(
+                        oilfield.getPlantId(),
+                        Math.min(oilfield.getCarsAmount() * 7000, oilfield.getOilAvailabletoSell()));
+            }
+        }
+
+        return oilfieldsOilAmountSold;
+    }
+}
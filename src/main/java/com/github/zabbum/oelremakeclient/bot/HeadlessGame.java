@@ -0,0 +1,195 @@
+package com.github.zabbum.oelremakeclient.bot;
+
+import com.github.zabbum.oelremakeclient.GameProgress;
+import com.github.zabbum.oelremakeclient.GameTransport;
+import com.github.zabbum.oelremakeclient.LatencyListener;
+import com.github.zabbum.oelremakeclient.RequestsCreator;
+import com.github.zabbum.oelremakeclient.arguments.Arguments;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.game.GameStatus;
+import com.github.zabbum.oelrlib.requests.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game played by a bot, without terminal, font or GUI thread.
+ * Same turn loop as in Game, but menus are answered by the strategy.
+ */
+@Slf4j
+public class HeadlessGame {
+    private final Arguments arguments;
+    private final GameTransport transport;
+    private final BotStrategy strategy;
+    // Delay between a request and the first game update received after it
+    @Setter
+    private LatencyListener broadcastListener = LatencyListener.NONE;
+    private GameProgress progressSession;
+    @Getter
+    private BaseGame baseGame;
+    @Getter
+    private int playerId;
+    // Round of the last summary sent by the bot
+    private int summarizedRound = 0;
+    // Round of the last turn played by the bot
+    private int playedRound = 0;
+    private volatile String pendingPath;
+    private volatile long pendingSentAt;
+
+    // Transport can be shared by many bots
+    public HeadlessGame(Arguments arguments, GameTransport transport, BotStrategy strategy) {
+        this.arguments = arguments;
+        this.transport = transport;
+        this.strategy = strategy;
+    }
+
+    public void start() throws InterruptedException {
+        // Create new game if no game to join is provided
+        if (arguments.getGameId() == null) {
+            createGame(arguments.getPlayerName(), arguments.getPlayersAmount());
+        } else {
+            joinGame(arguments.getGameId(), arguments.getPlayerName());
+        }
+
+        play();
+    }
+
+    // Returns once the bot is subscribed, so other players can join without the bot missing the start
+    public void createGame(String playerName, int playersAmount) throws InterruptedException {
+        enterGame(StarterRequest.builder()
+                .playerName(playerName)
+                .playersAmount(playersAmount)
+                .build());
+        subscribe();
+    }
+
+    // Subscribed before joining, the join may start the game
+    public void joinGame(String gameId, String playerName) throws InterruptedException {
+        subscribe(gameId);
+        enterGame(JoinRequest.builder()
+                .gameId(gameId)
+                .playerName(playerName)
+                .build());
+    }
+
+    private void enterGame(OelRequest oelRequest) {
+        try {
+            baseGame = transport.oelRequest(oelRequest);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        playerId = baseGame.getPlayers().size() - 1;
+        log.info("Bot {} entered game {}", baseGame.getPlayers().get(playerId).getName(), baseGame.getGameId());
+    }
+
+    private void subscribe() throws InterruptedException {
+        subscribe(baseGame.getGameId());
+    }
+
+    // Updates sent before the server confirms the subscription may be missed
+    private void subscribe(String gameId) throws InterruptedException {
+        progressSession = transport.createProgress();
+        progressSession.setUpdateListener(this::updateReceived);
+        progressSession.connect(gameId);
+
+        if (!progressSession.awaitSubscribed(arguments.getConnectTimeout(), TimeUnit.MILLISECONDS)) {
+            log.warn("Bot may miss updates of game {}, subscription not confirmed.", gameId);
+        }
+    }
+
+    // Play until the game is finished
+    public void play() throws InterruptedException {
+        try {
+            do {
+                waitingMenu();
+                if (baseGame.getGameStatus().equals(GameStatus.FINISHED)) {
+                    break;
+                }
+
+                if (baseGame.getIsTurnSummary()) {
+                    summaryMenu();
+                } else {
+                    mainMenu();
+                }
+            }
+            while (!baseGame.getGameStatus().equals(GameStatus.FINISHED));
+        } finally {
+            close();
+        }
+    }
+
+    // Disconnect from the game, e.g. when other players failed to join
+    public void close() {
+        if (progressSession != null) {
+            progressSession.close();
+        }
+    }
+
+    // Wait until it is bot's turn, its summary or the end of the game
+    private void waitingMenu() throws InterruptedException {
+        // Game of the last response may already need the bot, e.g. if its join has started the game
+        while (!isBotsMove()) {
+            baseGame = progressSession.take();
+        }
+    }
+
+    private boolean isBotsMove() {
+        if (baseGame.getGameStatus().equals(GameStatus.FINISHED)) {
+            return true;
+        }
+
+        // Summary stays on until every player has sent theirs
+        if (baseGame.getIsTurnSummary()) {
+            return baseGame.getCurrentRound() != summarizedRound;
+        }
+
+        // Broadcasts of a turn already played may still be queued, e.g. if the bot played it from a response
+        return baseGame.getCurrentPlayerTurn() == playerId && baseGame.getCurrentRound() != playedRound;
+    }
+
+    private void summaryMenu() {
+        Map<Integer, Integer> oilfieldsOilAmountSold = strategy.summaryMenu(baseGame, playerId);
+        summarizedRound = baseGame.getCurrentRound();
+
+        sendRequest(SummaryRequest.builder()
+                .gameId(baseGame.getGameId())
+                .playerId(playerId)
+                .oilfieldsOilAmountSold(oilfieldsOilAmountSold)
+                .build());
+    }
+
+    private void mainMenu() {
+        OelRequest oelRequest = strategy.mainMenu(baseGame, playerId);
+        playedRound = baseGame.getCurrentRound();
+
+        // Strategy has nothing to do, so pass
+        if (oelRequest == null) {
+            oelRequest = PassRequest.builder()
+                    .gameId(baseGame.getGameId())
+                    .playerId(playerId)
+                    .build();
+        }
+
+        baseGame = sendRequest(oelRequest);
+    }
+
+    private BaseGame sendRequest(OelRequest oelRequest) {
+        pendingSentAt = System.nanoTime();
+        pendingPath = RequestsCreator.getPath(oelRequest.getClass());
+
+        return transport.oelRequest(oelRequest);
+    }
+
+    // Called by the STOMP thread, first update after a request is its broadcast
+    private void updateReceived() {
+        String path = pendingPath;
+        if (path != null) {
+            pendingPath = null;
+            broadcastListener.record(path + " broadcast", System.nanoTime() - pendingSentAt);
+        }
+    }
+}
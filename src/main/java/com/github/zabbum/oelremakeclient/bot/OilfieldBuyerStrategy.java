@@ -0,0 +1,44 @@
+package com.github.zabbum.oelremakeclient.bot;
+
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+import com.github.zabbum.oelrlib.requests.BuyOilfieldRequest;
+import com.github.zabbum.oelrlib.requests.OelRequest;
+
+import java.util.List;
+
+/**
+ * Bot that buys the cheapest oilfield it can afford, passes otherwise.
+ */
+public class OilfieldBuyerStrategy implements BotStrategy {
+
+    @Override
+    public OelRequest mainMenu(BaseGame baseGame, int playerId) {
+        double balance = baseGame.getPlayers().get(playerId).getBalance();
+
+        // Find the cheapest oilfield which is not bought
+        List<Oilfield> oilfields = baseGame.getOilfields();
+        int cheapestOilfieldIndex = -1;
+        for (int oilfieldIndex = 0; oilfieldIndex < oilfields.size(); oilfieldIndex++) {
+            Oilfield oilfield = oilfields.get(oilfieldIndex);
+            if (oilfield.isBought() || oilfield.getPlantPrice() > balance) {
+                continue;
+            }
+
+            if (cheapestOilfieldIndex == -1
+                    || oilfield.getPlantPrice() < oilfields.get(cheapestOilfieldIndex).getPlantPrice()) {
+                cheapestOilfieldIndex = oilfieldIndex;
+            }
+        }
+
+        if (cheapestOilfieldIndex == -1) {
+            return null;
+        }
+
+        return BuyOilfieldRequest.builder()
+                .gameId(baseGame.getGameId())
+                .oilfieldId(cheapestOilfieldIndex)
+                .playerId(playerId)
+                .build();
+    }
+}
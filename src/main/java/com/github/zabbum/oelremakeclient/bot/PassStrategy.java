@@ -0,0 +1,15 @@
+package com.github.zabbum.oelremakeclient.bot;
+
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.requests.OelRequest;
+
+/**
+ * Bot that passes every turn.
+ */
+public class PassStrategy implements BotStrategy {
+
+    @Override
+    public OelRequest mainMenu(BaseGame baseGame, int playerId) {
+        return null;
+    }
+}
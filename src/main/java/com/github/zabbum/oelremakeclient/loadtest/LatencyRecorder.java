@@ -0,0 +1,83 @@
+package com.github.zabbum.oelremakeclient.loadtest;
+
+import com.github.zabbum.oelremakeclient.LatencyListener;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps every latency sample, so percentiles are exact.
+ */
+public class LatencyRecorder implements LatencyListener {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Samples> samples = new TreeMap<>();
+
+    @Override
+    public void record(String name, long nanos) {
+        lock.lock();
+        try {
+            samples.computeIfAbsent(name, key -> new Samples()).add(nanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Table of throughput and percentiles for every name
+    public String report(long elapsedNanos) {
+        lock.lock();
+        try {
+            double elapsedSeconds = elapsedNanos / 1e9;
+            StringBuilder report = new StringBuilder(String.format(
+                    "%-24s %8s %10s %10s %10s %10s %10s%n",
+                    "NAME", "COUNT", "PER SEC", "P50 MS", "P99 MS", "P999 MS", "MAX MS"));
+
+            for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+                long[] sorted = entry.getValue().sorted();
+                report.append(String.format(
+                        "%-24s %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                        entry.getKey(),
+                        sorted.length,
+                        sorted.length / elapsedSeconds,
+                        toMillis(percentile(sorted, 0.50)),
+                        toMillis(percentile(sorted, 0.99)),
+                        toMillis(percentile(sorted, 0.999)),
+                        toMillis(sorted[sorted.length - 1])));
+            }
+
+            return report.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Nearest rank percentile
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    // Growable array of samples, not to box every one of them
+    private static class Samples {
+        private long[] values = new long[64];
+        private int size = 0;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
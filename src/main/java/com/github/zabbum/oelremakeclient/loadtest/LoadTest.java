@@ -0,0 +1,122 @@
+package com.github.zabbum.oelremakeclient.loadtest;
+
+import com.github.zabbum.oelremakeclient.RequestsCreator;
+import com.github.zabbum.oelremakeclient.VirtualThreads;
+import com.github.zabbum.oelremakeclient.arguments.Arguments;
+import com.github.zabbum.oelremakeclient.bot.BotStrategies;
+import com.github.zabbum.oelremakeclient.bot.HeadlessGame;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays many games of bots at once and reports latencies of the server.
+ */
+@Slf4j
+public class LoadTest {
+    private final Arguments arguments;
+    private final RequestsCreator requestsCreator;
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();
+    private final AtomicInteger finishedPlayers = new AtomicInteger();
+    private final AtomicInteger failedPlayers = new AtomicInteger();
+    // Every bot blocks most of the time, so each one gets its own virtual thread
+    private final ExecutorService botsExecutor = VirtualThreads.newExecutor("oel-bot");
+
+    public LoadTest(Arguments arguments) {
+        this.arguments = arguments;
+
+        requestsCreator = new RequestsCreator(
+                arguments.getWsEndpointUrl(), arguments.getHttpEndpointUrl(), arguments);
+        requestsCreator.setLatencyListener(latencyRecorder);
+    }
+
+    public void start() throws InterruptedException {
+        int games = arguments.getGames();
+        int playersAmount = arguments.getPlayersAmount();
+        log.info("Starting {} games of {} players", games, playersAmount);
+
+        long start = System.nanoTime();
+
+        // Games are set up in parallel, players of one game join one by one
+        List<Future<?>> gameSetups = new ArrayList<>();
+        for (int gameIndex = 0; gameIndex < games; gameIndex++) {
+            int gameNumber = gameIndex;
+            gameSetups.add(botsExecutor.submit(() -> {
+                setUpGame(gameNumber, playersAmount);
+                return null;
+            }));
+        }
+        for (Future<?> gameSetup : gameSetups) {
+            try {
+                gameSetup.get();
+            } catch (Exception e) {
+                log.error("Game setup failed: {}", e.getMessage(), e);
+            }
+        }
+
+        botsExecutor.shutdown();
+        botsExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Players finished: %d, failed: %d, time: %.1f s%n",
+                finishedPlayers.get(), failedPlayers.get(), elapsed / 1e9);
+        System.out.print(latencyRecorder.report(elapsed));
+    }
+
+    private void setUpGame(int gameNumber, int playersAmount) throws InterruptedException {
+        List<HeadlessGame> bots = new ArrayList<>();
+
+        try {
+            HeadlessGame host = createBot();
+            bots.add(host);
+            host.createGame(playerName(gameNumber, 0), playersAmount);
+
+            // Every bot is subscribed before the next one joins, so nobody misses the start of the game
+            String gameId = host.getBaseGame().getGameId();
+            for (int playerIndex = 1; playerIndex < playersAmount; playerIndex++) {
+                HeadlessGame guest = createBot();
+                bots.add(guest);
+                guest.joinGame(gameId, playerName(gameNumber, playerIndex));
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            // Game can't start without all the players
+            failedPlayers.addAndGet(playersAmount);
+            bots.forEach(HeadlessGame::close);
+            throw e;
+        }
+
+        // Updates received meanwhile are queued until the bots start playing
+        for (HeadlessGame bot : bots) {
+            botsExecutor.submit(() -> play(bot));
+        }
+    }
+
+    private HeadlessGame createBot() {
+        HeadlessGame bot = new HeadlessGame(
+                arguments, requestsCreator, BotStrategies.byName(arguments.getStrategy()));
+        bot.setBroadcastListener(latencyRecorder);
+        return bot;
+    }
+
+    private void play(HeadlessGame bot) {
+        try {
+            bot.play();
+            finishedPlayers.incrementAndGet();
+        } catch (InterruptedException e) {
+            failedPlayers.incrementAndGet();
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failedPlayers.incrementAndGet();
+            log.error("Bot failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static String playerName(int gameNumber, int playerIndex) {
+        return "BOT " + gameNumber + "-" + playerIndex;
+    }
+}
@@ -0,0 +1,518 @@
+package com.github.zabbum.oelremakeclient.local;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.zabbum.oelremakeclient.ActionBatch;
+import com.github.zabbum.oelremakeclient.GameCopies;
+import com.github.zabbum.oelremakeclient.GameProgress;
+import com.github.zabbum.oelremakeclient.GameTransport;
+import com.github.zabbum.oelremakeclient.OelRequestException;
+import com.github.zabbum.oelremakeclient.PurchaseEffects;
+import com.github.zabbum.oelremakeclient.RequestsCreator;
+import com.github.zabbum.oelrlib.Player;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.game.GameStatus;
+import com.github.zabbum.oelrlib.plants.industries.AbstractIndustry;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+import com.github.zabbum.oelrlib.requests.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Games played in this process, without any server, e.g. by players sharing one terminal.
+ * Requests are handled at once on the calling thread and every change is delivered to the local progress sessions.
+ * Rules are an approximation of the server's, written for this client, and may drift from them:
+ * one action or batch of purchases per turn, production after the last player, then summaries of all players.
+ * oelrlib has no rules to run, the numbers below are made up for this engine, not taken from the server.
+ */
+@Slf4j
+public class LocalGameEngine implements GameTransport {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final String NEW_GAME_RESOURCE = "local/new-game.json";
+    // Same as told to the players before the game
+    static final double START_BALANCE = 123421;
+    // Depth drilled by one drill in a round
+    static final int DEPTH_PER_DRILL = 25;
+    // Oil pumped by one pump in a round
+    static final int OIL_PER_PUMP = 1500;
+    // Oil taken by one car in a summary, same as shown in the oilfield management menu
+    static final int OIL_PER_CAR = 7000;
+    // Products made by every bought industry in a round
+    static final int PRODUCTS_PER_ROUND = 5;
+
+    private final BaseGame newGame;
+    private final Map<String, LocalGame> games = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int nextGameNumber = 1;
+
+    private static class LocalGame {
+        // Restored from a copy when a batch fails half way
+        private BaseGame baseGame;
+        // Players who have sent the summary of the current round
+        private final BitSet summarized = new BitSet();
+        private final List<LocalGameProgress> subscribers = new ArrayList<>();
+        private long version = 0;
+
+        private LocalGame(BaseGame baseGame) {
+            this.baseGame = baseGame;
+        }
+    }
+
+    public LocalGameEngine() throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(NEW_GAME_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException("No board of a new game: " + NEW_GAME_RESOURCE);
+            }
+            newGame = OBJECT_MAPPER.readValue(inputStream, BaseGame.class);
+        }
+    }
+
+    @Override
+    public BaseGame oelRequest(OelRequest oelRequest) {
+        String path = RequestsCreator.getPath(oelRequest.getClass());
+
+        lock.lock();
+        try {
+            LocalGame game = handle(path, oelRequest);
+            game.version++;
+            for (LocalGameProgress subscriber : game.subscribers) {
+                subscriber.deliver(GameCopies.deep(game.baseGame), game.version);
+            }
+
+            // Players get their own copy, the game of the engine is never shared
+            return GameCopies.deep(game.baseGame);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Nothing to wait for, so the request is handled on the calling thread
+    @Override
+    public CompletableFuture<BaseGame> oelRequestAsync(OelRequest oelRequest) {
+        try {
+            return CompletableFuture.completedFuture(oelRequest(oelRequest));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public GameProgress createProgress() {
+        return new LocalGameProgress(this);
+    }
+
+    // Deliver the current game right away and every change of it later
+    void subscribe(String gameId, LocalGameProgress subscriber) {
+        lock.lock();
+        try {
+            LocalGame game = games.get(gameId);
+            if (game == null) {
+                throw new IllegalArgumentException("No local game: " + gameId);
+            }
+
+            game.subscribers.add(subscriber);
+            subscriber.deliver(GameCopies.deep(game.baseGame), game.version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Deliver the current game again, e.g. when the subscriber has lost track of it
+    void resend(String gameId, LocalGameProgress subscriber) {
+        lock.lock();
+        try {
+            LocalGame game = games.get(gameId);
+            if (game != null) {
+                subscriber.deliver(GameCopies.deep(game.baseGame), game.version);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void unsubscribe(String gameId, LocalGameProgress subscriber) {
+        lock.lock();
+        try {
+            LocalGame game = games.get(gameId);
+            if (game != null) {
+                game.subscribers.remove(subscriber);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LocalGame handle(String path, OelRequest oelRequest) {
+        if (oelRequest instanceof StarterRequest request) {
+            return start(path, request);
+        }
+        if (oelRequest instanceof JoinRequest request) {
+            return join(path, request);
+        }
+        if (ActionBatch.isPurchase(oelRequest)) {
+            LocalGame game = purchase(path, oelRequest);
+            endTurn(game);
+            return game;
+        }
+        if (oelRequest instanceof ActionBatch request) {
+            return batch(path, request);
+        }
+        if (oelRequest instanceof PassRequest request) {
+            LocalGame game = getTurnGame(path, request.getGameId(), request.getPlayerId());
+            endTurn(game);
+            return game;
+        }
+        if (oelRequest instanceof SummaryRequest request) {
+            return summary(path, request);
+        }
+
+        throw rejected(path, 501, "Not supported in a local game.");
+    }
+
+    // Purchases of the batch are made all or none, then the turn ends once
+    private LocalGame batch(String path, ActionBatch actionBatch) {
+        LocalGame game = getTurnGame(path, actionBatch.getGameId(), actionBatch.getPlayerId());
+        BaseGame backup = GameCopies.deep(game.baseGame);
+
+        try {
+            for (ActionBatch.Action action : actionBatch.getActions()) {
+                if (!ActionBatch.isPurchase(action.request())) {
+                    throw rejected(path, 400, "Only purchases can be batched.");
+                }
+                purchase(RequestsCreator.getPath(action.request().getClass()), action.request());
+            }
+        } catch (RuntimeException e) {
+            linkOwners(backup);
+            game.baseGame = backup;
+            throw e;
+        }
+
+        endTurn(game);
+        return game;
+    }
+
+    // Purchase in the player's turn, the turn doesn't end
+    private LocalGame purchase(String path, OelRequest oelRequest) {
+        if (oelRequest instanceof BuyOilfieldRequest request) {
+            return buyOilfield(path, request);
+        }
+        if (oelRequest instanceof BuyIndustryRequest request) {
+            return buyIndustry(path, request);
+        }
+        return buyProducts(path, (BuyProductsRequest) oelRequest);
+    }
+
+    private LocalGame start(String path, StarterRequest request) {
+        if (request.getPlayersAmount() == null || request.getPlayersAmount() < 1) {
+            throw rejected(path, 400, "Wrong players amount: " + request.getPlayersAmount());
+        }
+
+        BaseGame baseGame = GameCopies.deep(newGame);
+        baseGame.setGameId("local-" + nextGameNumber++);
+        baseGame.setPlayers(new ArrayList<>());
+        baseGame.setPlayersAmount(request.getPlayersAmount());
+        baseGame.setGameStatus(GameStatus.WAITING_FOR_PLAYERS);
+        // Nobody's turn until everyone has joined
+        baseGame.setCurrentPlayerTurn(-1);
+        baseGame.setCurrentRound(1);
+        baseGame.setIsTurnSummary(false);
+
+        LocalGame game = new LocalGame(baseGame);
+        games.put(baseGame.getGameId(), game);
+        addPlayer(game, request.getPlayerName());
+        log.info("Local game {} created", baseGame.getGameId());
+
+        return game;
+    }
+
+    private LocalGame join(String path, JoinRequest request) {
+        LocalGame game = getGame(path, request.getGameId());
+        if (game.baseGame.getGameStatus() != GameStatus.WAITING_FOR_PLAYERS) {
+            throw rejected(path, 409, "Game has already started.");
+        }
+
+        addPlayer(game, request.getPlayerName());
+        return game;
+    }
+
+    private void addPlayer(LocalGame game, String playerName) {
+        BaseGame baseGame = game.baseGame;
+
+        Player player = new Player();
+        player.setPlayerId(baseGame.getPlayers().size());
+        player.setName(playerName);
+        player.setBalance(START_BALANCE);
+        baseGame.getPlayers().add(player);
+
+        // Game starts as soon as it is full
+        if (baseGame.getPlayers().size() == baseGame.getPlayersAmount()) {
+            baseGame.setGameStatus(GameStatus.IN_PROGRESS);
+            baseGame.setCurrentPlayerTurn(0);
+        }
+    }
+
+    private LocalGame buyOilfield(String path, BuyOilfieldRequest request) {
+        LocalGame game = getTurnGame(path, request.getGameId(), request.getPlayerId());
+        Player player = game.baseGame.getPlayers().get(request.getPlayerId());
+        Oilfield oilfield = getPlant(path, game.baseGame.getOilfields(), request.getOilfieldId());
+
+        if (oilfield.isBought()) {
+            throw rejected(path, 409, "Oilfield is already bought.");
+        }
+        checkBalance(path, player, oilfield.getPlantPrice());
+
+        PurchaseEffects.apply(game.baseGame, request);
+        return game;
+    }
+
+    private LocalGame buyIndustry(String path, BuyIndustryRequest request) {
+        LocalGame game = getTurnGame(path, request.getGameId(), request.getPlayerId());
+        Player player = game.baseGame.getPlayers().get(request.getPlayerId());
+        AbstractIndustry industry = getPlant(
+                path, getIndustries(path, game.baseGame, request.getIndustryClassName()), request.getIndustryId());
+
+        if (industry.isBought()) {
+            throw rejected(path, 409, "Industry is already bought.");
+        }
+        if (request.getProductPrice() == null || request.getProductPrice() < 0) {
+            throw rejected(path, 400, "Wrong product price: " + request.getProductPrice());
+        }
+        checkBalance(path, player, industry.getPlantPrice());
+
+        PurchaseEffects.apply(game.baseGame, request);
+        return game;
+    }
+
+    private LocalGame buyProducts(String path, BuyProductsRequest request) {
+        LocalGame game = getTurnGame(path, request.getGameId(), request.getPlayerId());
+        Player player = game.baseGame.getPlayers().get(request.getPlayerId());
+        AbstractIndustry industry = getPlant(
+                path, getIndustries(path, game.baseGame, request.getIndustryClassName()), request.getIndustryId());
+        Oilfield oilfield = getPlant(path, game.baseGame.getOilfields(), request.getOilfieldId());
+        int productAmount = request.getProductAmount() == null ? 0 : request.getProductAmount();
+
+        if (!industry.isBought()) {
+            throw rejected(path, 409, "Industry has no owner to sell products.");
+        }
+        if (!isOwner(oilfield.getOwnership(), player)) {
+            throw rejected(path, 403, "Oilfield belongs to another player.");
+        }
+        if (productAmount < 1 || productAmount > industry.getProductsAmount()) {
+            throw rejected(path, 400, "Wrong products amount: " + productAmount);
+        }
+        checkBalance(path, player, productAmount * industry.getProductPrice());
+
+        PurchaseEffects.apply(game.baseGame, request);
+        return game;
+    }
+
+    private LocalGame summary(String path, SummaryRequest request) {
+        LocalGame game = getGame(path, request.getGameId());
+        BaseGame baseGame = game.baseGame;
+        Integer playerId = request.getPlayerId();
+
+        // Summaries of a round may come in any order
+        if (baseGame.getGameStatus() != GameStatus.IN_PROGRESS || !baseGame.getIsTurnSummary()) {
+            throw rejected(path, 409, "Round is not summarized now.");
+        }
+        if (playerId == null || playerId < 0 || playerId >= baseGame.getPlayers().size()) {
+            throw rejected(path, 400, "Wrong player: " + playerId);
+        }
+        if (game.summarized.get(playerId)) {
+            throw rejected(path, 409, "Player has already sent the summary.");
+        }
+
+        Player player = baseGame.getPlayers().get(playerId);
+        int oilPrice = baseGame.getOilPrices().get(baseGame.getCurrentRound() - 1);
+        Map<Integer, Integer> oilfieldsOilAmountSold = request.getOilfieldsOilAmountSold() == null
+                ? Map.of() : request.getOilfieldsOilAmountSold();
+
+        // Check every sale before selling anything
+        List<Oilfield> soldOilfields = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> sale : oilfieldsOilAmountSold.entrySet()) {
+            Oilfield oilfield = getOilfieldById(path, baseGame, sale.getKey());
+            int amount = sale.getValue() == null ? 0 : sale.getValue();
+
+            if (!isOwner(oilfield.getOwnership(), player)) {
+                throw rejected(path, 403, "Oilfield belongs to another player.");
+            }
+            if (amount < 0 || amount > Math.min(oilfield.getOilAvailabletoSell(), oilfield.getCarsAmount() * OIL_PER_CAR)) {
+                throw rejected(path, 400, "Wrong oil amount: " + amount);
+            }
+            soldOilfields.add(oilfield);
+        }
+
+        for (Oilfield oilfield : soldOilfields) {
+            int amount = oilfieldsOilAmountSold.getOrDefault(oilfield.getPlantId(), 0);
+            oilfield.setOilAvailabletoSell(oilfield.getOilAvailabletoSell() - amount);
+            player.setBalance(player.getBalance() + (double) amount * oilPrice);
+        }
+
+        game.summarized.set(playerId);
+        int nextPlayer = game.summarized.nextClearBit(0);
+        if (nextPlayer < baseGame.getPlayers().size()) {
+            // Turn shows whose summary is still missing
+            baseGame.setCurrentPlayerTurn(nextPlayer);
+            return game;
+        }
+
+        endRound(game);
+        return game;
+    }
+
+    // Next player's turn, production after the last one
+    private void endTurn(LocalGame game) {
+        BaseGame baseGame = game.baseGame;
+        int nextPlayer = baseGame.getCurrentPlayerTurn() + 1;
+        if (nextPlayer < baseGame.getPlayers().size()) {
+            baseGame.setCurrentPlayerTurn(nextPlayer);
+            return;
+        }
+
+        produce(baseGame);
+        game.summarized.clear();
+        baseGame.setIsTurnSummary(true);
+        baseGame.setCurrentPlayerTurn(0);
+    }
+
+    // Oilfields drill and pump, industries make new products
+    private static void produce(BaseGame baseGame) {
+        for (Oilfield oilfield : baseGame.getOilfields()) {
+            oilfield.setShouldInfoPlayer(false);
+            if (!oilfield.isBought()) {
+                continue;
+            }
+
+            // Player is informed about the oil in the summary, it is pumped from the next round
+            if (!oilfield.isExploitable()) {
+                oilfield.setCurrentDepth(oilfield.getCurrentDepth() + oilfield.getDrillsAmount() * DEPTH_PER_DRILL);
+                if (oilfield.getCurrentDepth() >= oilfield.getRequiredDepth()) {
+                    oilfield.setExploitable(true);
+                    oilfield.setShouldInfoPlayer(true);
+                }
+                continue;
+            }
+
+            int oilPumped = Math.min(
+                    oilfield.getPumpsAmount() * OIL_PER_PUMP,
+                    oilfield.getTotalOilAmount() - oilfield.getOilExtracted());
+            oilfield.setOilExtracted(oilfield.getOilExtracted() + oilPumped);
+            oilfield.setOilAvailabletoSell(oilfield.getOilAvailabletoSell() + oilPumped);
+        }
+
+        for (List<? extends AbstractIndustry> industries : List.of(
+                baseGame.getDrillsIndustries(), baseGame.getPumpsIndustries(), baseGame.getCarsIndustries())) {
+            for (AbstractIndustry industry : industries) {
+                if (industry.isBought()) {
+                    industry.setProductsAmount(industry.getProductsAmount() + PRODUCTS_PER_ROUND);
+                }
+            }
+        }
+    }
+
+    // Game ends after the round of the last oil price
+    private static void endRound(LocalGame game) {
+        BaseGame baseGame = game.baseGame;
+        game.summarized.clear();
+        baseGame.setIsTurnSummary(false);
+
+        if (baseGame.getCurrentRound() >= baseGame.getOilPrices().size()) {
+            baseGame.setGameStatus(GameStatus.FINISHED);
+            baseGame.setCurrentPlayerTurn(-1);
+            log.info("Local game {} finished", baseGame.getGameId());
+            return;
+        }
+
+        baseGame.setCurrentRound(baseGame.getCurrentRound() + 1);
+        baseGame.setCurrentPlayerTurn(0);
+    }
+
+    private LocalGame getGame(String path, String gameId) {
+        LocalGame game = games.get(gameId);
+        if (game == null) {
+            throw rejected(path, 404, "No game: " + gameId);
+        }
+        return game;
+    }
+
+    // Game in which it is the player's turn to make an action
+    private LocalGame getTurnGame(String path, String gameId, Integer playerId) {
+        LocalGame game = getGame(path, gameId);
+        BaseGame baseGame = game.baseGame;
+        if (baseGame.getGameStatus() != GameStatus.IN_PROGRESS
+                || baseGame.getIsTurnSummary()
+                || !Objects.equals(baseGame.getCurrentPlayerTurn(), playerId)) {
+            throw rejected(path, 409, "Not the turn of player " + playerId);
+        }
+        return game;
+    }
+
+    private static List<? extends AbstractIndustry> getIndustries(String path, BaseGame baseGame, String className) {
+        List<? extends AbstractIndustry> industries = PurchaseEffects.getIndustries(baseGame, className);
+        if (industries == null) {
+            throw rejected(path, 400, "Unknown industry: " + className);
+        }
+        return industries;
+    }
+
+    private static <T> T getPlant(String path, List<T> plants, Integer index) {
+        if (index == null || index < 0 || index >= plants.size()) {
+            throw rejected(path, 400, "Wrong plant: " + index);
+        }
+        return plants.get(index);
+    }
+
+    // Summaries refer to oilfields by their ids, not positions
+    private static Oilfield getOilfieldById(String path, BaseGame baseGame, Integer plantId) {
+        for (Oilfield oilfield : baseGame.getOilfields()) {
+            if (Objects.equals(oilfield.getPlantId(), plantId)) {
+                return oilfield;
+            }
+        }
+        throw rejected(path, 400, "Wrong oilfield: " + plantId);
+    }
+
+    private static void checkBalance(String path, Player player, int price) {
+        if (player.getBalance() < price) {
+            throw rejected(path, 402, "Not enough money.");
+        }
+    }
+
+    // Owners of the plants are the players of the game again, not their copies
+    private static void linkOwners(BaseGame baseGame) {
+        List<Player> players = baseGame.getPlayers();
+        for (Oilfield oilfield : baseGame.getOilfields()) {
+            if (oilfield.getOwnership() != null) {
+                oilfield.setOwnership(players.get(oilfield.getOwnership().getPlayerId()));
+            }
+        }
+
+        for (List<? extends AbstractIndustry> industries : List.of(
+                baseGame.getDrillsIndustries(), baseGame.getPumpsIndustries(), baseGame.getCarsIndustries())) {
+            for (AbstractIndustry industry : industries) {
+                if (industry.getOwnership() != null) {
+                    industry.setOwnership(players.get(industry.getOwnership().getPlayerId()));
+                }
+            }
+        }
+    }
+
+    private static boolean isOwner(Player ownership, Player player) {
+        return ownership != null && Objects.equals(ownership.getPlayerId(), player.getPlayerId());
+    }
+
+    private static OelRequestException rejected(String path, int statusCode, String message) {
+        return new OelRequestException(path, statusCode, message);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.zabbum.oelremakeclient.local;
+
+import com.github.zabbum.oelremakeclient.GameProgress;
+import com.github.zabbum.oelremakeclient.GameStateStore;
+import com.github.zabbum.oelrlib.game.BaseGame;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress of a local game, every change is delivered as a full game by the engine.
+ */
+public class LocalGameProgress implements GameProgress {
+    private static final long FETCH_WAIT_MILLIS = 1000;
+
+    private final LocalGameEngine engine;
+    private final GameStateStore gameStateStore = new GameStateStore();
+    private String gameId;
+
+    LocalGameProgress(LocalGameEngine engine) {
+        this.engine = engine;
+        gameStateStore.setSnapshotRequest(() -> engine.resend(gameId, this));
+    }
+
+    @Override
+    public void connect(String gameId) {
+        if (this.gameId != null) {
+            return;
+        }
+
+        this.gameId = gameId;
+        engine.subscribe(gameId, this);
+    }
+
+    // Engine subscribes at once
+    @Override
+    public boolean awaitSubscribed(long timeout, TimeUnit unit) {
+        return gameId != null;
+    }
+
+    @Override
+    public void setUpdateListener(Runnable updateListener) {
+        gameStateStore.setUpdateListener(updateListener);
+    }
+
+    @Override
+    public BaseGame take() throws InterruptedException {
+        return gameStateStore.take();
+    }
+
+    @Override
+    public BaseGame poll() {
+        return gameStateStore.poll();
+    }
+
+    // Engine is asked to send the game again
+    @Override
+    public BaseGame fetch() throws InterruptedException {
+        return gameStateStore.fetchSnapshot(FETCH_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getLastReceivedAt() {
+        return gameStateStore.getLastReceivedAt();
+    }
+
+    // Called by the engine, on the thread of the request
+    void deliver(BaseGame baseGame, long version) {
+        try {
+            gameStateStore.putSnapshot(baseGame, version);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (gameId != null) {
+            engine.unsubscribe(gameId, this);
+            gameId = null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.zabbum.oelremakeclient.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count of events, e.g. failed requests.
+ */
+public class Counter implements CounterMXBean {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+}
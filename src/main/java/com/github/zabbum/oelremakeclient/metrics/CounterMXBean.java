@@ -0,0 +1,5 @@
+package com.github.zabbum.oelremakeclient.metrics;
+
+public interface CounterMXBean {
+    long getCount();
+}
@@ -0,0 +1,122 @@
+package com.github.zabbum.oelremakeclient.metrics;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distribution of recorded values in a fixed amount of memory.
+ * Every power of two is split into 8 buckets, so percentiles are accurate to 12.5%.
+ */
+public class Histogram implements HistogramMXBean {
+    private static final int SUB_BUCKETS_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKETS_BITS;
+
+    // Values are recorded by virtual threads, which the monitor would pin
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] buckets = new long[(64 - SUB_BUCKETS_BITS + 1) * SUB_BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    public void record(long value) {
+        lock.lock();
+        try {
+            value = Math.max(value, 0);
+
+            buckets[bucketIndex(value)]++;
+            count++;
+            sum += value;
+            max = Math.max(max, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double getMean() {
+        lock.lock();
+        try {
+            return count == 0 ? 0 : (double) sum / count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getMax() {
+        lock.lock();
+        try {
+            return max;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long get50thPercentile() {
+        return getPercentile(0.50);
+    }
+
+    @Override
+    public long get99thPercentile() {
+        return getPercentile(0.99);
+    }
+
+    @Override
+    public long get999thPercentile() {
+        return getPercentile(0.999);
+    }
+
+    // Highest value of the bucket with the percentile, never more than max
+    public long getPercentile(double percentile) {
+        lock.lock();
+        try {
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int bucketIndex = 0; bucketIndex < buckets.length; bucketIndex++) {
+                seen += buckets[bucketIndex];
+                if (seen >= Math.max(rank, 1)) {
+                    return Math.min(bucketUpperBound(bucketIndex), max);
+                }
+            }
+            return max;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Values below SUB_BUCKETS get their own buckets, the rest are grouped by the highest bits
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKETS_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long bucketUpperBound(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKETS) {
+            return bucketIndex;
+        }
+
+        int shift = bucketIndex / SUB_BUCKETS - 1;
+        long subBucket = bucketIndex % SUB_BUCKETS + SUB_BUCKETS;
+        long upperBound = ((subBucket + 1) << shift) - 1;
+        // Highest bucket ends above Long.MAX_VALUE
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
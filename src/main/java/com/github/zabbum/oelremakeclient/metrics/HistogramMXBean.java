@@ -0,0 +1,15 @@
+package com.github.zabbum.oelremakeclient.metrics;
+
+public interface HistogramMXBean {
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long get50thPercentile();
+
+    long get99thPercentile();
+
+    long get999thPercentile();
+}
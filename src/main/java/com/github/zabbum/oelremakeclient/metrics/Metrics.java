@@ -0,0 +1,86 @@
+package com.github.zabbum.oelremakeclient.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of all the metrics of the client.
+ * Every metric is created once, published as an MXBean and can be dumped to a file.
+ */
+@Slf4j
+public class Metrics {
+    private static final String JMX_DOMAIN = "com.github.zabbum.oelremakeclient";
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, key -> register("Timer", key, new Timer()));
+    }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> register("Counter", key, new Counter()));
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> register("Histogram", key, new Histogram()));
+    }
+
+    private static <T> T register(String type, String name, T metric) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    metric,
+                    new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            log.warn("Couldn't publish {} {} through JMX: {}", type, name, e.getMessage());
+        }
+        return metric;
+    }
+
+    // Write all the metrics to the file, timers in milliseconds
+    public static void dump(Path path) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.printf("%-32s %8s %10s %10s %10s %10s %10s%n",
+                    "TIMER", "COUNT", "MEAN MS", "P50 MS", "P99 MS", "P999 MS", "MAX MS");
+            new TreeMap<>(TIMERS).forEach((name, timer) -> writer.printf(
+                    "%-32s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    name, timer.getCount(),
+                    timer.getMean() / 1e6,
+                    timer.get50thPercentile() / 1e6,
+                    timer.get99thPercentile() / 1e6,
+                    timer.get999thPercentile() / 1e6,
+                    timer.getMax() / 1e6));
+
+            writer.println();
+            writer.printf("%-32s %8s %10s %10s %10s %10s %10s%n",
+                    "HISTOGRAM", "COUNT", "MEAN", "P50", "P99", "P999", "MAX");
+            new TreeMap<>(HISTOGRAMS).forEach((name, histogram) -> writer.printf(
+                    "%-32s %8d %10.2f %10d %10d %10d %10d%n",
+                    name, histogram.getCount(),
+                    histogram.getMean(),
+                    histogram.get50thPercentile(),
+                    histogram.get99thPercentile(),
+                    histogram.get999thPercentile(),
+                    histogram.getMax()));
+
+            writer.println();
+            writer.printf("%-32s %8s%n", "COUNTER", "COUNT");
+            new TreeMap<>(COUNTERS).forEach((name, counter) -> writer.printf(
+                    "%-32s %8d%n", name, counter.getCount()));
+        } catch (IOException e) {
+            log.error("Couldn't dump metrics to {}: {}", path, e.getMessage(), e);
+        }
+    }
+}
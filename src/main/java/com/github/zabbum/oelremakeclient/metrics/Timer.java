@@ -0,0 +1,12 @@
+package com.github.zabbum.oelremakeclient.metrics;
+
+/**
+ * Histogram of durations in nanoseconds.
+ */
+public class Timer extends Histogram {
+
+    // Record time passed since the start, taken from System.nanoTime()
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+}
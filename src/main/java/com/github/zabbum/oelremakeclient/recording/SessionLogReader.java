@@ -0,0 +1,85 @@
+package com.github.zabbum.oelremakeclient.recording;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads a session log written by SessionLogWriter, record by record.
+ */
+public class SessionLogReader implements Closeable {
+    private static final SessionRecord.Type[] TYPES = SessionRecord.Type.values();
+
+    private final DataInputStream input;
+    private long time = 0;
+
+    public SessionLogReader(Path path) throws IOException {
+        input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+
+        byte[] magic = new byte[SessionLogWriter.MAGIC.length];
+        input.readFully(magic);
+        if (!Arrays.equals(magic, SessionLogWriter.MAGIC)) {
+            throw new IOException("Not a session log: " + path);
+        }
+
+        int formatVersion = input.readUnsignedByte();
+        if (formatVersion != SessionLogWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported session log version: " + formatVersion);
+        }
+    }
+
+    // Next record, null at the end of the log
+    public SessionRecord next() throws IOException {
+        int type = input.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type >= TYPES.length) {
+            throw new IOException("Unknown session record type: " + type);
+        }
+
+        try {
+            time += readVarLong();
+            String key = new String(readBytes(), StandardCharsets.UTF_8);
+            byte[] body = readBytes();
+            return new SessionRecord(TYPES[type], time, key, body);
+        } catch (EOFException e) {
+            // Last record may be cut off, if the client was killed while writing it
+            throw new IOException("Session log ends in the middle of a record.", e);
+        }
+    }
+
+    private byte[] readBytes() throws IOException {
+        long length = readVarLong();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Session record is too long: " + length);
+        }
+
+        byte[] bytes = new byte[(int) length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in the session log.");
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.zabbum.oelremakeclient.recording;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Append-only binary log of a session.
+ * File starts with the magic and the format version, every record is:
+ * type byte, time since the previous record and lengths as variable-length numbers, then key and body bytes.
+ */
+public class SessionLogWriter implements Closeable {
+    static final byte[] MAGIC = "OELREC".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+
+    private final DataOutputStream output;
+    private long lastTime = 0;
+
+    public SessionLogWriter(Path path) throws IOException {
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        output.write(MAGIC);
+        output.writeByte(FORMAT_VERSION);
+        output.flush();
+    }
+
+    // Records are written in the order of their time, each one is flushed at once
+    public void write(SessionRecord record) throws IOException {
+        byte[] key = record.key().getBytes(StandardCharsets.UTF_8);
+
+        output.writeByte(record.type().ordinal());
+        writeVarLong(record.time() - lastTime);
+        writeVarLong(key.length);
+        output.write(key);
+        writeVarLong(record.body().length);
+        output.write(record.body());
+        output.flush();
+
+        lastTime = record.time();
+    }
+
+    // 7 bits per byte, the highest bit set if more bytes follow
+    private void writeVarLong(long value) throws IOException {
+        if (value < 0) {
+            throw new IOException("Negative value can't be written: " + value);
+        }
+
+        while (value >= 0x80) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.zabbum.oelremakeclient.recording;
+
+/**
+ * Single entry of a session log.
+ *
+ * @param type kind of the entry
+ * @param time nanoseconds since the start of the recording
+ * @param key  path of a request or response, version of a snapshot, empty if there is none
+ * @param body request or game, as sent or received
+ */
+public record SessionRecord(Type type, long time, String key, byte[] body) {
+
+    public enum Type {
+        // Request sent to the server
+        REQUEST,
+        // Game received in the response to a request
+        RESPONSE,
+        // Full game received over STOMP
+        SNAPSHOT,
+        // Game patch received over STOMP
+        PATCH
+    }
+}
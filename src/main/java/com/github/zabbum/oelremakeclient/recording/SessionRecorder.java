@@ -0,0 +1,63 @@
+package com.github.zabbum.oelremakeclient.recording;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records requests and received games of the whole session, if started.
+ * Records come from the game, HTTP and STOMP threads, they are written one at a time.
+ */
+@Slf4j
+public class SessionRecorder {
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static SessionLogWriter writer;
+    private static long startTime;
+
+    public static void start(Path path) throws IOException {
+        LOCK.lock();
+        try {
+            stop();
+            writer = new SessionLogWriter(path);
+            startTime = System.nanoTime();
+            log.info("Recording session to {}", path);
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    // Does nothing if the session is not recorded
+    public static void record(SessionRecord.Type type, String key, byte[] body) {
+        LOCK.lock();
+        try {
+            if (writer == null) {
+                return;
+            }
+
+            // Time is taken under the lock, so records are in order
+            writer.write(new SessionRecord(type, System.nanoTime() - startTime, key, body));
+        } catch (IOException e) {
+            // Game goes on without the recording
+            log.error("Couldn't record session, recording stopped: {}", e.getMessage());
+            stop();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    public static void stop() {
+        LOCK.lock();
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            log.error("Couldn't close session recording: {}", e.getMessage());
+        } finally {
+            writer = null;
+            LOCK.unlock();
+        }
+    }
+}
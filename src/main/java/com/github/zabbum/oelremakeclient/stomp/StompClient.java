@@ -0,0 +1,46 @@
+package com.github.zabbum.oelremakeclient.stomp;
+
+import com.github.zabbum.oelremakeclient.VirtualThreads;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * STOMP over WebSocket client built on java.net.http.
+ * One client can be shared by many sessions.
+ */
+public class StompClient {
+    // Frames are handled on virtual threads
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(VirtualThreads.newExecutor("stomp"))
+            .build();
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stomp-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long heartbeatInterval;
+
+    // Heartbeats are both sent and expected in the interval, in milliseconds
+    public StompClient(long heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    // Connect to the endpoint, future is completed once the CONNECTED frame arrives
+    public CompletableFuture<StompSession> connectAsync(String url, StompSessionHandler handler) {
+        StompSession session = new StompSession(handler, heartbeatScheduler, heartbeatInterval);
+
+        httpClient.newWebSocketBuilder()
+                .buildAsync(URI.create(url), session.getListener())
+                .whenComplete((webSocket, e) -> {
+                    if (e != null) {
+                        session.connectionFailed(e);
+                    }
+                });
+
+        return session.getConnected();
+    }
+}
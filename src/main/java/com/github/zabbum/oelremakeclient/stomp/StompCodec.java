@@ -0,0 +1,202 @@
+package com.github.zabbum.oelremakeclient.stomp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encoding and decoding of STOMP 1.2 frames.
+ * Decoder keeps incomplete data, so frames may be split between WebSocket messages.
+ */
+public class StompCodec {
+    private static final byte NUL = 0;
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private byte[] buffer = new byte[4096];
+    private int size = 0;
+
+    // Frame as sent over the wire, terminated with NUL
+    public static byte[] encode(StompFrame frame) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // Headers of CONNECT and CONNECTED frames are not escaped
+        boolean escape = !frame.command().equals("CONNECT") && !frame.command().equals("CONNECTED");
+
+        writeString(output, frame.command());
+        output.write(LF);
+        for (Map.Entry<String, String> header : frame.headers().entrySet()) {
+            writeString(output, escape ? escape(header.getKey()) : header.getKey());
+            output.write(':');
+            writeString(output, escape ? escape(header.getValue()) : header.getValue());
+            output.write(LF);
+        }
+        if (frame.body().length > 0 && !frame.headers().containsKey("content-length")) {
+            writeString(output, "content-length:" + frame.body().length);
+            output.write(LF);
+        }
+        output.write(LF);
+        output.writeBytes(frame.body());
+        output.write(NUL);
+
+        return output.toByteArray();
+    }
+
+    // Decode all the complete frames, heartbeats are skipped
+    public List<StompFrame> decode(byte[] data) throws IOException {
+        append(data);
+
+        List<StompFrame> frames = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            // Skip heartbeats, sent as empty lines
+            while (position < size && (buffer[position] == LF || buffer[position] == CR)) {
+                position++;
+            }
+
+            int frameEnd = decodeFrame(position, frames);
+            if (frameEnd < 0) {
+                break;
+            }
+            position = frameEnd;
+        }
+
+        // Keep the incomplete frame for the next data
+        System.arraycopy(buffer, position, buffer, 0, size - position);
+        size -= position;
+
+        return frames;
+    }
+
+    // Drop incomplete data, e.g. after a malformed frame
+    public void reset() {
+        size = 0;
+    }
+
+    // Decode frame starting at the position, returns position after it or -1 if it is incomplete
+    private int decodeFrame(int start, List<StompFrame> frames) throws IOException {
+        int headersEnd = -1;
+        for (int index = start; index + 1 < size; index++) {
+            if (buffer[index] == LF && (buffer[index + 1] == LF
+                    || (buffer[index + 1] == CR && index + 2 < size && buffer[index + 2] == LF))) {
+                headersEnd = index;
+                break;
+            }
+        }
+        if (headersEnd < 0) {
+            return -1;
+        }
+        int bodyStart = headersEnd + (buffer[headersEnd + 1] == LF ? 2 : 3);
+
+        List<String> lines = readLines(start, headersEnd);
+        String command = lines.get(0);
+        boolean unescape = !command.equals("CONNECTED") && !command.equals("CONNECT");
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                throw new IOException("Malformed STOMP header: " + line);
+            }
+            String name = unescape ? unescape(line.substring(0, colon)) : line.substring(0, colon);
+            String value = unescape ? unescape(line.substring(colon + 1)) : line.substring(colon + 1);
+            // Only the first of repeated headers is used
+            headers.putIfAbsent(name, value);
+        }
+
+        // Body length is known from the header or ends with the first NUL
+        int bodyEnd;
+        String contentLength = headers.get("content-length");
+        if (contentLength != null) {
+            bodyEnd = bodyStart + Integer.parseInt(contentLength.trim());
+            if (bodyEnd >= size) {
+                return -1;
+            }
+            if (buffer[bodyEnd] != NUL) {
+                throw new IOException("STOMP frame body is not terminated with NUL.");
+            }
+        } else {
+            bodyEnd = bodyStart;
+            while (bodyEnd < size && buffer[bodyEnd] != NUL) {
+                bodyEnd++;
+            }
+            if (bodyEnd >= size) {
+                return -1;
+            }
+        }
+
+        frames.add(new StompFrame(command, headers, Arrays.copyOfRange(buffer, bodyStart, bodyEnd)));
+        return bodyEnd + 1;
+    }
+
+    private List<String> readLines(int start, int end) {
+        List<String> lines = new ArrayList<>();
+        int lineStart = start;
+        for (int index = start; index <= end; index++) {
+            if (index == end || buffer[index] == LF) {
+                // Lines may end with CR LF
+                int lineEnd = index > lineStart && buffer[index - 1] == CR ? index - 1 : index;
+                lines.add(new String(buffer, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8));
+                lineStart = index + 1;
+            }
+        }
+        return lines;
+    }
+
+    private void append(byte[] data) {
+        if (size + data.length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + data.length));
+        }
+        System.arraycopy(data, 0, buffer, size, data.length);
+        size += data.length;
+    }
+
+    private static void writeString(ByteArrayOutputStream output, String value) {
+        output.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case ':' -> escaped.append("\\c");
+                default -> escaped.append(character);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String unescape(String value) throws IOException {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character != '\\') {
+                unescaped.append(character);
+                continue;
+            }
+
+            if (++index >= value.length()) {
+                throw new IOException("Unfinished escape sequence in STOMP header: " + value);
+            }
+            switch (value.charAt(index)) {
+                case '\\' -> unescaped.append('\\');
+                case 'n' -> unescaped.append('\n');
+                case 'r' -> unescaped.append('\r');
+                case 'c' -> unescaped.append(':');
+                default -> throw new IOException("Undefined escape sequence in STOMP header: " + value);
+            }
+        }
+        return unescaped.toString();
+    }
+}
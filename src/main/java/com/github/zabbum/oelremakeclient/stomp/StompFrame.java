@@ -0,0 +1,18 @@
+package com.github.zabbum.oelremakeclient.stomp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Single STOMP frame, headers keep the order they were added in.
+ */
+public record StompFrame(String command, Map<String, String> headers, byte[] body) {
+
+    public String header(String name) {
+        return headers.get(name);
+    }
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,329 @@
+package com.github.zabbum.oelremakeclient.stomp;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * STOMP session over a single WebSocket.
+ * Frames may be split between WebSocket messages and sends are queued one after another.
+ */
+@Slf4j
+public class StompSession {
+    // Connection is considered lost after this many missed server heartbeats
+    private static final int MISSED_HEARTBEATS_LIMIT = 3;
+
+    private final StompSessionHandler handler;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final long heartbeatInterval;
+    private final StompCodec codec = new StompCodec();
+    private final Map<String, Consumer<StompFrame>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriptionIds = new AtomicInteger();
+    // Frames sent with a receipt header, by the id of the receipt
+    private final Map<String, CompletableFuture<Void>> receipts = new ConcurrentHashMap<>();
+    private final AtomicInteger receiptIds = new AtomicInteger();
+    private final List<ScheduledFuture<?>> heartbeats = new ArrayList<>();
+    // Lock instead of the monitor, so virtual threads handling frames are not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+    @Getter(AccessLevel.PACKAGE)
+    private final CompletableFuture<StompSession> connected = new CompletableFuture<>();
+    @Getter(AccessLevel.PACKAGE)
+    private final WebSocket.Listener listener = new Listener();
+    private WebSocket webSocket;
+    private CompletableFuture<WebSocket> lastSend;
+    private volatile boolean open = false;
+    private volatile boolean closing = false;
+    private volatile long lastReceivedAt;
+
+    StompSession(StompSessionHandler handler, ScheduledExecutorService heartbeatScheduler, long heartbeatInterval) {
+        this.handler = handler;
+        this.heartbeatScheduler = heartbeatScheduler;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public boolean isConnected() {
+        return open && connected.isDone() && !connected.isCompletedExceptionally();
+    }
+
+    // Subscribe to the destination, returns id of the subscription
+    public String subscribe(String destination, Map<String, String> headers, Consumer<StompFrame> frameHandler) {
+        String id = "sub-" + subscriptionIds.getAndIncrement();
+        subscriptions.put(id, frameHandler);
+
+        Map<String, String> subscribeHeaders = new LinkedHashMap<>();
+        subscribeHeaders.put("destination", destination);
+        subscribeHeaders.put("id", id);
+        subscribeHeaders.putAll(headers);
+        sendFrame(new StompFrame("SUBSCRIBE", subscribeHeaders, new byte[0]));
+
+        return id;
+    }
+
+    // Subscribe to the destination, future is completed once the server confirms the subscription with a RECEIPT
+    public CompletableFuture<Void> subscribeWithReceipt(
+            String destination, Map<String, String> headers, Consumer<StompFrame> frameHandler) {
+        String receiptId = "receipt-" + receiptIds.getAndIncrement();
+        CompletableFuture<Void> receipt = new CompletableFuture<>();
+        // Registered before sending, the receipt may arrive before subscribe returns
+        receipts.put(receiptId, receipt);
+
+        Map<String, String> receiptHeaders = new LinkedHashMap<>(headers);
+        receiptHeaders.put("receipt", receiptId);
+        subscribe(destination, receiptHeaders, frameHandler);
+
+        return receipt;
+    }
+
+    public void send(String destination, String contentType, byte[] body) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("destination", destination);
+        headers.put("content-type", contentType);
+        sendFrame(new StompFrame("SEND", headers, body));
+    }
+
+    public void disconnect() {
+        lock.lock();
+        try {
+            if (!open || closing) {
+                return;
+            }
+
+            closing = true;
+            stopHeartbeats();
+            sendFrame(new StompFrame("DISCONNECT", Map.of(), new byte[0]));
+            lastSend = lastSend
+                    .handle((sentWebSocket, e) -> webSocket)
+                    .thenCompose(ws -> ws.sendClose(WebSocket.NORMAL_CLOSURE, ""));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Failure before the WebSocket has been opened
+    void connectionFailed(Throwable exception) {
+        connected.completeExceptionally(exception);
+        handler.handleTransportError(this, exception);
+    }
+
+    private void sendFrame(StompFrame frame) {
+        sendText(new String(StompCodec.encode(frame), StandardCharsets.UTF_8));
+    }
+
+    // WebSocket allows only one send at a time, so sends are chained
+    private void sendText(String text) {
+        lock.lock();
+        try {
+            if (webSocket == null) {
+                throw new IllegalStateException("STOMP session is not connected.");
+            }
+
+            lastSend = lastSend
+                    .handle((sentWebSocket, e) -> webSocket)
+                    .thenCompose(ws -> ws.sendText(text, true));
+            lastSend.whenComplete((ws, e) -> {
+                if (e != null) {
+                    log.warn("Couldn't send STOMP data: {}", e.getMessage());
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void handleFrame(StompFrame frame) {
+        switch (frame.command()) {
+            case "CONNECTED" -> {
+                startHeartbeats(frame.header("heart-beat"));
+                connected.complete(this);
+                handler.afterConnected(this, frame);
+            }
+            case "MESSAGE" -> {
+                Consumer<StompFrame> frameHandler = subscriptions.get(frame.header("subscription"));
+                if (frameHandler != null) {
+                    frameHandler.accept(frame);
+                }
+            }
+            case "RECEIPT" -> {
+                CompletableFuture<Void> receipt = receipts.remove(frame.header("receipt-id"));
+                if (receipt != null) {
+                    receipt.complete(null);
+                }
+            }
+            case "ERROR" -> {
+                connected.completeExceptionally(new IOException("STOMP error: " + frame.header("message")));
+                handler.handleError(this, frame);
+            }
+            default -> log.debug("Ignored {} frame.", frame.command());
+        }
+    }
+
+    // Negotiate heartbeats with the values sent by the server
+    private void startHeartbeats(String serverHeartbeat) {
+        lock.lock();
+        try {
+            long serverSending = 0;
+            long serverExpecting = 0;
+            if (serverHeartbeat != null) {
+                String[] values = serverHeartbeat.split(",");
+                serverSending = Long.parseLong(values[0].trim());
+                serverExpecting = Long.parseLong(values[1].trim());
+            }
+
+            if (heartbeatInterval > 0 && serverExpecting > 0) {
+                long sendInterval = Math.max(heartbeatInterval, serverExpecting);
+                heartbeats.add(heartbeatScheduler.scheduleAtFixedRate(
+                        () -> sendText("\n"), sendInterval, sendInterval, TimeUnit.MILLISECONDS));
+            }
+
+            if (heartbeatInterval > 0 && serverSending > 0) {
+                long receiveInterval = Math.max(heartbeatInterval, serverSending);
+                heartbeats.add(heartbeatScheduler.scheduleAtFixedRate(
+                        () -> checkHeartbeat(receiveInterval), receiveInterval, receiveInterval, TimeUnit.MILLISECONDS));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkHeartbeat(long receiveInterval) {
+        long silence = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastReceivedAt);
+        if (silence > MISSED_HEARTBEATS_LIMIT * receiveInterval) {
+            stopHeartbeats();
+            open = false;
+            webSocket.abort();
+            handler.handleTransportError(this, new IOException("No heartbeat from the server for " + silence + " ms."));
+        }
+    }
+
+    private void stopHeartbeats() {
+        lock.lock();
+        try {
+            heartbeats.forEach(heartbeat -> heartbeat.cancel(false));
+            heartbeats.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void connectionLost(Throwable exception) {
+        open = false;
+        stopHeartbeats();
+
+        // Receipts will never arrive
+        receipts.values().forEach(receipt -> receipt.completeExceptionally(exception));
+        receipts.clear();
+
+        if (!connected.isDone()) {
+            connectionFailed(exception);
+        } else if (!closing) {
+            handler.handleTransportError(this, exception);
+        }
+    }
+
+    private class Listener implements WebSocket.Listener {
+        private final StringBuilder textMessage = new StringBuilder();
+        private final ByteArrayOutputStream binaryMessage = new ByteArrayOutputStream();
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            lock.lock();
+            try {
+                StompSession.this.webSocket = webSocket;
+                lastSend = CompletableFuture.completedFuture(webSocket);
+                open = true;
+                lastReceivedAt = System.nanoTime();
+            } finally {
+                lock.unlock();
+            }
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put("accept-version", "1.1,1.2");
+            headers.put("heart-beat", heartbeatInterval + "," + heartbeatInterval);
+            sendFrame(new StompFrame("CONNECT", headers, new byte[0]));
+
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            lastReceivedAt = System.nanoTime();
+
+            // Messages may come in parts, frames are decoded from the whole message
+            textMessage.append(data);
+            if (last) {
+                byte[] message = textMessage.toString().getBytes(StandardCharsets.UTF_8);
+                textMessage.setLength(0);
+                decode(message);
+            }
+
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+            lastReceivedAt = System.nanoTime();
+
+            byte[] bytes = new byte[data.remaining()];
+            data.get(bytes);
+            binaryMessage.writeBytes(bytes);
+            if (last) {
+                byte[] message = binaryMessage.toByteArray();
+                binaryMessage.reset();
+                decode(message);
+            }
+
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            connectionLost(new IOException("WebSocket closed with status " + statusCode + ": " + reason));
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            connectionLost(error);
+        }
+
+        private void decode(byte[] message) {
+            List<StompFrame> frames;
+            try {
+                frames = codec.decode(message);
+            } catch (IOException | RuntimeException e) {
+                log.error("Couldn't decode STOMP frame: {}", e.getMessage(), e);
+                codec.reset();
+                return;
+            }
+
+            for (StompFrame frame : frames) {
+                try {
+                    handleFrame(frame);
+                } catch (RuntimeException e) {
+                    log.error("Error while handling {} frame: {}", frame.command(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
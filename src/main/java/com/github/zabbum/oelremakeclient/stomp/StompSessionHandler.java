@@ -0,0 +1,14 @@
+package com.github.zabbum.oelremakeclient.stomp;
+
+/**
+ * Callbacks of a STOMP session, called by the WebSocket thread.
+ */
+public interface StompSessionHandler {
+
+    void afterConnected(StompSession session, StompFrame connectedFrame);
+
+    // ERROR frame sent by the server
+    void handleError(StompSession session, StompFrame errorFrame);
+
+    void handleTransportError(StompSession session, Throwable exception);
+}
@@ -0,0 +1,92 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateStoreTest {
+    private final GameStateStore gameStateStore = new GameStateStore();
+
+    @Test
+    void patchCopiesOnlyChangedObjects() throws InterruptedException {
+        BaseGame baseGame = game();
+        gameStateStore.putSnapshot(baseGame, 1L);
+        assertSame(baseGame, gameStateStore.take());
+
+        ObjectNode change = JsonNodeFactory.instance.objectNode().put("name", "CHANGED");
+        GameStatePatch patch = new GameStatePatch();
+        patch.setBaseVersion(1L);
+        patch.setVersion(2L);
+        patch.setOilfields(Map.of(1, change));
+        gameStateStore.putPatch(patch);
+        BaseGame patched = gameStateStore.take();
+
+        // Game taken before is not changed
+        assertNotSame(baseGame, patched);
+        assertEquals("B", baseGame.getOilfields().get(1).getName());
+        assertEquals("CHANGED", patched.getOilfields().get(1).getName());
+
+        // Only the changed oilfield and its list are new
+        assertNotSame(baseGame.getOilfields(), patched.getOilfields());
+        assertNotSame(baseGame.getOilfields().get(1), patched.getOilfields().get(1));
+        assertSame(baseGame.getOilfields().get(0), patched.getOilfields().get(0));
+        assertSame(baseGame.getOilfields().get(2), patched.getOilfields().get(2));
+        assertSame(baseGame.getPlayers(), patched.getPlayers());
+    }
+
+    @Test
+    void patchOfOtherVersionAsksForSnapshot() throws InterruptedException {
+        AtomicBoolean snapshotRequested = new AtomicBoolean();
+        gameStateStore.setSnapshotRequest(() -> snapshotRequested.set(true));
+        gameStateStore.putSnapshot(game(), 1L);
+        gameStateStore.take();
+
+        GameStatePatch patch = new GameStatePatch();
+        patch.setBaseVersion(2L);
+        patch.setVersion(3L);
+        patch.setOilfields(Map.of(0, JsonNodeFactory.instance.objectNode().put("name", "CHANGED")));
+        gameStateStore.putPatch(patch);
+        BaseGame snapshot = game();
+        gameStateStore.putSnapshot(snapshot, 3L);
+
+        // Patch is skipped, the game is taken from the requested snapshot
+        assertSame(snapshot, gameStateStore.take());
+        assertTrue(snapshotRequested.get());
+    }
+
+    @Test
+    void latestUpdateIsPolled() throws InterruptedException {
+        assertNull(gameStateStore.pollLatest(10, TimeUnit.MILLISECONDS));
+
+        BaseGame latest = game();
+        gameStateStore.putSnapshot(game(), null);
+        gameStateStore.putSnapshot(latest, null);
+        assertSame(latest, gameStateStore.pollLatest(10, TimeUnit.MILLISECONDS));
+        assertNull(gameStateStore.poll());
+    }
+
+    private static BaseGame game() {
+        List<Oilfield> oilfields = new ArrayList<>();
+        for (String name : List.of("A", "B", "C")) {
+            Oilfield oilfield = new Oilfield();
+            oilfield.setName(name);
+            oilfields.add(oilfield);
+        }
+
+        BaseGame baseGame = new BaseGame();
+        baseGame.setGameId("game");
+        baseGame.setPlayers(new ArrayList<>());
+        baseGame.setOilfields(oilfields);
+        return baseGame;
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.zabbum.oelremakeclient;
+
+import com.github.zabbum.oelremakeclient.arguments.Arguments;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.requests.BuyOilfieldRequest;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestsCreatorTest {
+    private HttpServer server;
+    private RequestsCreator requestsCreator;
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+    // Server of an older version doesn't accept batches
+    private volatile boolean batches = false;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/baseGame", exchange -> {
+            String path = exchange.getRequestURI().getPath().substring("/baseGame".length());
+            paths.add(path);
+            exchange.getRequestBody().readAllBytes();
+
+            byte[] body = ("{\"gameId\":\"1\",\"currentRound\":" + paths.size() + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(path.equals("/batch") && !batches ? 404 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        String address = "localhost:" + server.getAddress().getPort();
+        Arguments arguments = Arguments.builder().serverAddress(address).build();
+        requestsCreator = new RequestsCreator(
+                arguments.getWsEndpointUrl(), arguments.getHttpEndpointUrl(), arguments);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void onlyFirstPurchaseIsMadeWithoutBatches() {
+        requestsCreator.warmUp().join();
+        assertFalse(requestsCreator.isBatchSupported());
+
+        ActionBatch actionBatch = batchOf(2);
+        BaseGame baseGame = requestsCreator.oelRequest(actionBatch);
+
+        // Every purchase ends the turn, so the second one is not sent
+        assertEquals(List.of("/batch", "/buyOilfield"), paths);
+        assertEquals(2, baseGame.getCurrentRound());
+        assertEquals(1, actionBatch.getNotMade().size());
+    }
+
+    @Test
+    void batchIsSentAfterProbe() {
+        batches = true;
+        requestsCreator.warmUp().join();
+        assertTrue(requestsCreator.isBatchSupported());
+
+        ActionBatch actionBatch = batchOf(2);
+        requestsCreator.oelRequest(actionBatch);
+        assertEquals(List.of("/batch", "/batch"), paths);
+        assertTrue(actionBatch.getNotMade().isEmpty());
+    }
+
+    private static ActionBatch batchOf(int size) {
+        ActionBatch actionBatch = new ActionBatch("1", 0);
+        for (int oilfieldId = 0; oilfieldId < size; oilfieldId++) {
+            actionBatch.add(BuyOilfieldRequest.builder().gameId("1").playerId(0).oilfieldId(oilfieldId).build());
+        }
+        return actionBatch;
+    }
+}
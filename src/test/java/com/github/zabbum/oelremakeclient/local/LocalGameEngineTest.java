@@ -0,0 +1,217 @@
+package com.github.zabbum.oelremakeclient.local;
+
+import com.github.zabbum.oelremakeclient.ActionBatch;
+import com.github.zabbum.oelremakeclient.GameProgress;
+import com.github.zabbum.oelremakeclient.OelRequestException;
+import com.github.zabbum.oelremakeclient.arguments.Arguments;
+import com.github.zabbum.oelremakeclient.bot.HeadlessGame;
+import com.github.zabbum.oelremakeclient.bot.OilfieldBuyerStrategy;
+import com.github.zabbum.oelremakeclient.bot.PassStrategy;
+import com.github.zabbum.oelrlib.game.BaseGame;
+import com.github.zabbum.oelrlib.game.GameStatus;
+import com.github.zabbum.oelrlib.plants.industries.CarsIndustry;
+import com.github.zabbum.oelrlib.plants.industries.DrillsIndustry;
+import com.github.zabbum.oelrlib.plants.industries.PumpsIndustry;
+import com.github.zabbum.oelrlib.plants.oilfield.Oilfield;
+import com.github.zabbum.oelrlib.requests.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalGameEngineTest {
+    private LocalGameEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = new LocalGameEngine();
+    }
+
+    @Test
+    void botsPlayWholeGame() throws InterruptedException {
+        Arguments arguments = Arguments.builder().build();
+        HeadlessGame buyer = new HeadlessGame(arguments, engine, new OilfieldBuyerStrategy());
+        HeadlessGame passer = new HeadlessGame(arguments, engine, new PassStrategy());
+        buyer.createGame("BUYER", 2);
+        passer.joinGame(buyer.getBaseGame().getGameId(), "PASSER");
+
+        Thread buyerThread = new Thread(() -> play(buyer));
+        Thread passerThread = new Thread(() -> play(passer));
+        buyerThread.start();
+        passerThread.start();
+        buyerThread.join(10000);
+        passerThread.join(10000);
+
+        assertFalse(buyerThread.isAlive());
+        assertFalse(passerThread.isAlive());
+        BaseGame baseGame = passer.getBaseGame();
+        assertEquals(GameStatus.FINISHED, baseGame.getGameStatus());
+        assertEquals(baseGame.getOilPrices().size(), baseGame.getCurrentRound());
+        assertEquals(LocalGameEngine.START_BALANCE, baseGame.getPlayers().get(1).getBalance());
+        assertTrue(baseGame.getOilfields().stream()
+                .allMatch(oilfield -> oilfield.getOwnership() == null || oilfield.getOwnership().getPlayerId() == 0));
+    }
+
+    @Test
+    void drilledOilIsPumpedAndSold() {
+        BaseGame baseGame = engine.oelRequest(StarterRequest.builder().playerName("A").playersAmount(2).build());
+        String gameId = baseGame.getGameId();
+        assertEquals(GameStatus.WAITING_FOR_PLAYERS, baseGame.getGameStatus());
+        baseGame = engine.oelRequest(JoinRequest.builder().gameId(gameId).playerName("B").build());
+        assertEquals(GameStatus.IN_PROGRESS, baseGame.getGameStatus());
+
+        // Round 1, second player owns the cars industry
+        engine.oelRequest(BuyOilfieldRequest.builder().gameId(gameId).playerId(0).oilfieldId(5).build());
+        engine.oelRequest(buyIndustry(gameId, 1, CarsIndustry.class, 100));
+        endRound(gameId);
+
+        // Rounds 2 and 3, oil is found at the required depth
+        engine.oelRequest(buyIndustry(gameId, 0, DrillsIndustry.class, 10));
+        engine.oelRequest(pass(gameId, 1));
+        endRound(gameId);
+        engine.oelRequest(buyProducts(gameId, DrillsIndustry.class, 16));
+        baseGame = engine.oelRequest(pass(gameId, 1));
+        assertTrue(baseGame.getOilfields().get(5).isExploitable());
+        assertTrue(baseGame.getOilfields().get(5).getShouldInfoPlayer());
+        endRound(gameId);
+
+        // Rounds 4 and 5, oil is pumped but can't be taken without cars
+        engine.oelRequest(buyIndustry(gameId, 0, PumpsIndustry.class, 10));
+        engine.oelRequest(pass(gameId, 1));
+        endRound(gameId);
+        engine.oelRequest(buyProducts(gameId, PumpsIndustry.class, 7));
+        baseGame = engine.oelRequest(pass(gameId, 1));
+        assertEquals(7 * LocalGameEngine.OIL_PER_PUMP, baseGame.getOilfields().get(5).getOilAvailabletoSell());
+        OelRequestException exception = assertThrows(
+                OelRequestException.class, () -> engine.oelRequest(summary(gameId, 0, Map.of(5, 1))));
+        assertEquals(400, exception.getStatusCode());
+        endRound(gameId);
+
+        // Round 6, cars are paid to the owner of the industry and oil is sold at the price of the round
+        engine.oelRequest(buyProducts(gameId, CarsIndustry.class, 2));
+        engine.oelRequest(pass(gameId, 1));
+        baseGame = engine.oelRequest(summary(gameId, 0, Map.of(5, 2 * LocalGameEngine.OIL_PER_CAR)));
+
+        Oilfield oilfield = baseGame.getOilfields().get(5);
+        assertEquals(14 * LocalGameEngine.OIL_PER_PUMP - 2 * LocalGameEngine.OIL_PER_CAR, oilfield.getOilAvailabletoSell());
+        double spent = 50000 + 30000 + 25000 + 2 * 100;
+        double earned = 2 * LocalGameEngine.OIL_PER_CAR * baseGame.getOilPrices().get(5);
+        assertEquals(LocalGameEngine.START_BALANCE - spent + earned, baseGame.getPlayers().get(0).getBalance());
+        assertEquals(LocalGameEngine.START_BALANCE - 25000 + 2 * 100, baseGame.getPlayers().get(1).getBalance());
+    }
+
+    @Test
+    void actionOutOfTurnIsRejected() {
+        String gameId = engine.oelRequest(
+                StarterRequest.builder().playerName("A").playersAmount(2).build()).getGameId();
+        engine.oelRequest(JoinRequest.builder().gameId(gameId).playerName("B").build());
+
+        OelRequestException exception = assertThrows(
+                OelRequestException.class, () -> engine.oelRequest(pass(gameId, 1)));
+        assertEquals(409, exception.getStatusCode());
+    }
+
+    @Test
+    void batchIsOneTurn() {
+        String gameId = engine.oelRequest(
+                StarterRequest.builder().playerName("A").playersAmount(2).build()).getGameId();
+        engine.oelRequest(JoinRequest.builder().gameId(gameId).playerName("B").build());
+
+        ActionBatch actionBatch = new ActionBatch(gameId, 0);
+        actionBatch.add(BuyOilfieldRequest.builder().gameId(gameId).playerId(0).oilfieldId(5).build());
+        actionBatch.add(buyIndustry(gameId, 0, DrillsIndustry.class, 10));
+        actionBatch.add(buyProducts(gameId, DrillsIndustry.class, 4));
+        BaseGame baseGame = engine.oelRequest(actionBatch);
+
+        assertEquals(1, baseGame.getCurrentPlayerTurn());
+        assertEquals(4, baseGame.getOilfields().get(5).getDrillsAmount());
+        assertEquals(LocalGameEngine.START_BALANCE - 50000 - 30000, baseGame.getPlayers().get(0).getBalance());
+    }
+
+    @Test
+    void failedBatchChangesNothing() {
+        String gameId = engine.oelRequest(
+                StarterRequest.builder().playerName("A").playersAmount(2).build()).getGameId();
+        engine.oelRequest(JoinRequest.builder().gameId(gameId).playerName("B").build());
+        engine.oelRequest(BuyOilfieldRequest.builder().gameId(gameId).playerId(0).oilfieldId(5).build());
+        engine.oelRequest(buyIndustry(gameId, 1, DrillsIndustry.class, 10));
+        endRound(gameId);
+
+        // Second oilfield is too expensive after the first one
+        ActionBatch actionBatch = new ActionBatch(gameId, 0);
+        actionBatch.add(buyProducts(gameId, DrillsIndustry.class, 4));
+        actionBatch.add(BuyOilfieldRequest.builder().gameId(gameId).playerId(0).oilfieldId(9).build());
+        actionBatch.add(BuyOilfieldRequest.builder().gameId(gameId).playerId(0).oilfieldId(11).build());
+        OelRequestException exception = assertThrows(OelRequestException.class, () -> engine.oelRequest(actionBatch));
+        assertEquals(402, exception.getStatusCode());
+
+        // Owner of the industry is still paid after the game has been restored
+        BaseGame baseGame = engine.oelRequest(buyProducts(gameId, DrillsIndustry.class, 4));
+        assertFalse(baseGame.getOilfields().get(9).isBought());
+        assertEquals(4, baseGame.getOilfields().get(5).getDrillsAmount());
+        assertEquals(LocalGameEngine.START_BALANCE - 50000 - 4 * 10, baseGame.getPlayers().get(0).getBalance());
+        assertEquals(LocalGameEngine.START_BALANCE - 30000 + 4 * 10, baseGame.getPlayers().get(1).getBalance());
+    }
+
+    @Test
+    void fetchedGameIsCurrent() throws InterruptedException {
+        String gameId = engine.oelRequest(
+                StarterRequest.builder().playerName("A").playersAmount(2).build()).getGameId();
+        try (GameProgress progress = engine.createProgress()) {
+            progress.connect(gameId);
+            engine.oelRequest(JoinRequest.builder().gameId(gameId).playerName("B").build());
+            engine.oelRequest(pass(gameId, 0));
+
+            // Updates queued before are skipped
+            BaseGame baseGame = progress.fetch();
+            assertEquals(1, baseGame.getCurrentPlayerTurn());
+            assertNull(progress.poll());
+        }
+    }
+
+    private void endRound(String gameId) {
+        engine.oelRequest(summary(gameId, 1, Map.of()));
+        BaseGame baseGame = engine.oelRequest(summary(gameId, 0, Map.of()));
+        assertFalse(baseGame.getIsTurnSummary());
+    }
+
+    private static void play(HeadlessGame headlessGame) {
+        try {
+            headlessGame.play();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PassRequest pass(String gameId, int playerId) {
+        return PassRequest.builder().gameId(gameId).playerId(playerId).build();
+    }
+
+    private static BuyIndustryRequest buyIndustry(String gameId, int playerId, Class<?> industryClass, int price) {
+        return BuyIndustryRequest.builder()
+                .gameId(gameId)
+                .playerId(playerId)
+                .industryClassName(industryClass.getName())
+                .industryId(0)
+                .productPrice(price)
+                .build();
+    }
+
+    private static BuyProductsRequest buyProducts(String gameId, Class<?> industryClass, int productAmount) {
+        return BuyProductsRequest.builder()
+                .gameId(gameId)
+                .playerId(0)
+                .industryClassName(industryClass.getName())
+                .industryId(0)
+                .oilfieldId(5)
+                .productAmount(productAmount)
+                .build();
+    }
+
+    private static SummaryRequest summary(String gameId, int playerId, Map<Integer, Integer> oilSold) {
+        return SummaryRequest.builder().gameId(gameId).playerId(playerId).oilfieldsOilAmountSold(oilSold).build();
+    }
+}
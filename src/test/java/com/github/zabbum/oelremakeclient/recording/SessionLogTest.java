@@ -0,0 +1,55 @@
+package com.github.zabbum.oelremakeclient.recording;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionLogTest {
+
+    @Test
+    void writtenRecordsAreReadInOrder(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("session.oelrec");
+        byte[] game = "{\"gameId\":\"ŻÓŁW\"}".getBytes(StandardCharsets.UTF_8);
+        try (SessionLogWriter writer = new SessionLogWriter(path)) {
+            writer.write(new SessionRecord(SessionRecord.Type.REQUEST, 5, "/start", new byte[0]));
+            writer.write(new SessionRecord(SessionRecord.Type.SNAPSHOT, 300_000_000_000L, "12", game));
+        }
+
+        try (SessionLogReader reader = new SessionLogReader(path)) {
+            SessionRecord request = reader.next();
+            assertEquals(SessionRecord.Type.REQUEST, request.type());
+            assertEquals(5, request.time());
+            assertEquals("/start", request.key());
+            assertEquals(0, request.body().length);
+
+            SessionRecord snapshot = reader.next();
+            assertEquals(SessionRecord.Type.SNAPSHOT, snapshot.type());
+            assertEquals(300_000_000_000L, snapshot.time());
+            assertEquals("12", snapshot.key());
+            assertArrayEquals(game, snapshot.body());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void recordCutOffIsReported(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("session.oelrec");
+        try (SessionLogWriter writer = new SessionLogWriter(path)) {
+            writer.write(new SessionRecord(SessionRecord.Type.PATCH, 1, "", new byte[100]));
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 10));
+
+        try (SessionLogReader reader = new SessionLogReader(path)) {
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+}
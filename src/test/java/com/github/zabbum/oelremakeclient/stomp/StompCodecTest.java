@@ -0,0 +1,75 @@
+package com.github.zabbum.oelremakeclient.stomp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StompCodecTest {
+
+    @Test
+    void encodedFrameIsDecoded() throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("destination", "/topic/game-progress/1");
+        headers.put("oel:name", "a\\b\nc");
+        StompFrame frame = new StompFrame("MESSAGE", headers, "{\"gameId\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+
+        List<StompFrame> frames = new StompCodec().decode(StompCodec.encode(frame));
+
+        assertEquals(1, frames.size());
+        assertEquals("MESSAGE", frames.get(0).command());
+        assertEquals("a\\b\nc", frames.get(0).header("oel:name"));
+        assertEquals("{\"gameId\":\"1\"}", frames.get(0).bodyAsString());
+    }
+
+    @Test
+    void frameSplitBetweenMessagesIsDecodedWhenComplete() throws IOException {
+        byte[] encoded = StompCodec.encode(
+                new StompFrame("MESSAGE", Map.of("subscription", "sub-0"), "ZAŻÓŁĆ".getBytes(StandardCharsets.UTF_8)));
+        StompCodec codec = new StompCodec();
+
+        assertTrue(codec.decode(Arrays.copyOfRange(encoded, 0, 10)).isEmpty());
+        assertTrue(codec.decode(Arrays.copyOfRange(encoded, 10, encoded.length - 3)).isEmpty());
+        List<StompFrame> frames = codec.decode(Arrays.copyOfRange(encoded, encoded.length - 3, encoded.length));
+
+        assertEquals(1, frames.size());
+        assertEquals("ZAŻÓŁĆ", frames.get(0).bodyAsString());
+    }
+
+    @Test
+    void heartbeatsAndManyFramesInOneMessage() throws IOException {
+        String message = "\n\r\nCONNECTED\nversion:1.2\nheart-beat:0,10000\n\n\0\n"
+                + "RECEIPT\r\nreceipt-id:77\r\n\r\n\0";
+
+        List<StompFrame> frames = new StompCodec().decode(message.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, frames.size());
+        assertEquals("0,10000", frames.get(0).header("heart-beat"));
+        assertEquals("77", frames.get(1).header("receipt-id"));
+    }
+
+    @Test
+    void contentLengthAllowsNulInBody() throws IOException {
+        byte[] body = {'a', 0, 'b'};
+        String message = "MESSAGE\ncontent-length:3\n\n";
+        byte[] header = message.getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = Arrays.copyOf(header, header.length + body.length + 1);
+        System.arraycopy(body, 0, encoded, header.length, body.length);
+
+        List<StompFrame> frames = new StompCodec().decode(encoded);
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(body, frames.get(0).body());
+    }
+
+    @Test
+    void undefinedEscapeIsRejected() {
+        assertThrows(IOException.class, () -> StompCodec.unescape("a\\tb"));
+    }
+}